@@ -0,0 +1,486 @@
+package book.store.cart;
+
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.cart.CartDeltaDto;
+import book.store.dto.cart.CartItemResponseDto;
+import book.store.dto.cart.ShoppingCartResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.model.Book;
+import book.store.model.CartItem;
+import book.store.model.ShoppingCart;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.ShoppingCartRepository;
+import book.store.service.BookService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class CartStore implements SmartLifecycle {
+    private static final int PHASE = 0;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemWriteRepository cartItemWriteRepository;
+    private final BookService bookService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Shard[] shards;
+    private final Map<String, CachedCart> dirty = new ConcurrentHashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public CartStore(ShoppingCartRepository shoppingCartRepository,
+                     CartItemWriteRepository cartItemWriteRepository,
+                     BookService bookService,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${cart.store.enabled:false}") boolean enabled,
+                     @Value("${cart.store.max-carts:100000}") int maxCarts,
+                     @Value("${cart.store.shards:16}") int shardCount) {
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.cartItemWriteRepository = cartItemWriteRepository;
+        this.bookService = bookService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(Math.max(maxCarts / shardCount, 1));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ShoppingCartResponseDto get(String email) {
+        CachedCart cart = cart(email);
+        synchronized (cart) {
+            return cart.toDto();
+        }
+    }
+
+    public CartDeltaDto add(String email, Long bookId, int quantity, Long knownVersion) {
+        while (true) {
+            CachedCart cart = cart(email);
+            synchronized (cart) {
+                if (!cart.isDeleting(List.of(bookId))) {
+                    CartLine line = addToLine(email, cart, bookId, quantity);
+                    if (line == null) {
+                        BookResponseDto book = bookService.getById(bookId);
+                        Long id = cartItemWriteRepository.upsert(cart.id, bookId, quantity);
+                        line = new CartLine(id, bookId, book.getTitle(),
+                                BigDecimal.valueOf(book.getPrice()), quantity);
+                        cart.items.put(id, line);
+                    }
+                    return changed(email, cart, knownVersion, List.of(line.id), List.of());
+                }
+            }
+            awaitWrite();
+        }
+    }
+
+    public CartDeltaDto update(String email, Long cartItemId, int quantity, Long knownVersion) {
+        CachedCart cart = cart(email);
+        synchronized (cart) {
+            getLine(cart, cartItemId).quantity = quantity;
+            markChanged(email, cart, cartItemId);
+            return changed(email, cart, knownVersion, List.of(cartItemId), List.of());
+        }
+    }
+
+    public CartDeltaDto remove(String email, Long cartItemId, Long knownVersion) {
+        CachedCart cart = cart(email);
+        synchronized (cart) {
+            removeLine(email, cart, getLine(cart, cartItemId));
+            return changed(email, cart, knownVersion, List.of(), List.of(cartItemId));
+        }
+    }
+
+    public CartDeltaDto applyBatch(String email, Map<Long, Integer> additions,
+                                   Map<Long, Integer> quantities, Collection<Long> removedIds,
+                                   Map<Long, Book> books, Long knownVersion) {
+        while (true) {
+            CachedCart cart = cart(email);
+            synchronized (cart) {
+                if (!cart.isDeleting(additions.keySet())) {
+                    return apply(email, cart, additions, quantities, removedIds, books,
+                            knownVersion);
+                }
+            }
+            awaitWrite();
+        }
+    }
+
+    public void flush(String email) {
+        if (enabled && dirty.containsKey(email)) {
+            write(List.of(email));
+        }
+    }
+
+    public void evict(String email) {
+        if (!enabled) {
+            return;
+        }
+        flush(email);
+        Shard shard = shard(email);
+        synchronized (shard) {
+            shard.remove(email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:1000}")
+    public void flushAll() {
+        if (enabled && !dirty.isEmpty()) {
+            write(new ArrayList<>(dirty.keySet()));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        flushAll();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private CartDeltaDto apply(String email, CachedCart cart, Map<Long, Integer> additions,
+                               Map<Long, Integer> quantities, Collection<Long> removedIds,
+                               Map<Long, Book> books, Long knownVersion) {
+        quantities.keySet().forEach(cartItemId -> getLine(cart, cartItemId));
+        removedIds.forEach(cartItemId -> getLine(cart, cartItemId));
+        quantities.forEach((cartItemId, quantity) -> {
+            getLine(cart, cartItemId).quantity = quantity;
+            markChanged(email, cart, cartItemId);
+        });
+        removedIds.forEach(cartItemId -> removeLine(email, cart, getLine(cart, cartItemId)));
+        Set<Long> changedIds = new LinkedHashSet<>(quantities.keySet());
+        Map<Long, Integer> inserts = new LinkedHashMap<>();
+        additions.forEach((bookId, quantity) -> {
+            CartLine line = addToLine(email, cart, bookId, quantity);
+            if (line == null) {
+                inserts.put(bookId, quantity);
+            } else {
+                changedIds.add(line.id);
+            }
+        });
+        if (!inserts.isEmpty()) {
+            cartItemWriteRepository.upsertAll(cart.id, inserts);
+            cartItemWriteRepository.findIdsByBookIds(cart.id, inserts.keySet())
+                    .forEach((bookId, id) -> {
+                        Book book = books.get(bookId);
+                        cart.items.put(id, new CartLine(id, bookId, book.getTitle(),
+                                book.getPrice(), inserts.get(bookId)));
+                        changedIds.add(id);
+                    });
+        }
+        return changed(email, cart, knownVersion, changedIds, removedIds);
+    }
+
+    private void awaitWrite() {
+        writeLock.lock();
+        writeLock.unlock();
+    }
+
+    private CachedCart cart(String email) {
+        Shard shard = shard(email);
+        synchronized (shard) {
+            CachedCart cart = shard.get(email);
+            if (cart != null) {
+                return cart;
+            }
+        }
+        CachedCart cart = dirty.get(email);
+        if (cart == null) {
+            cart = load(email);
+        }
+        synchronized (shard) {
+            CachedCart existing = shard.putIfAbsent(email, cart);
+            return existing == null ? cart : existing;
+        }
+    }
+
+    private CachedCart load(String email) {
+        ShoppingCart shoppingCart = shoppingCartRepository.findWithCartItemsByUserEmail(email);
+        if (shoppingCart == null) {
+            throw new EntityNotFoundException("Can`t find shopping cart of user " + email);
+        }
+        CachedCart cart = new CachedCart(shoppingCart.getId(), shoppingCart.getUser().getId(),
+                shoppingCart.getVersion());
+        for (CartItem cartItem : shoppingCart.getCartItems()) {
+            cart.items.put(cartItem.getId(), new CartLine(cartItem.getId(),
+                    cartItem.getBook().getId(), cartItem.getBook().getTitle(),
+                    cartItem.getBook().getPrice(), cartItem.getQuantity()));
+        }
+        return cart;
+    }
+
+    private Shard shard(String email) {
+        return shards[Math.floorMod(email.hashCode(), shards.length)];
+    }
+
+    private CartLine getLine(CachedCart cart, Long cartItemId) {
+        CartLine line = cart.items.get(cartItemId);
+        if (line == null) {
+            throw new EntityNotFoundException("Can`t find cart item with id " + cartItemId);
+        }
+        return line;
+    }
+
+    private CartLine addToLine(String email, CachedCart cart, Long bookId, int quantity) {
+        CartLine line = cart.findByBookId(cart.items.values(), bookId);
+        if (line != null) {
+            line.quantity += quantity;
+            markChanged(email, cart, line.id);
+            return line;
+        }
+        line = cart.findByBookId(cart.deleted.values(), bookId);
+        if (line != null) {
+            cart.deleted.remove(line.id);
+            cart.items.put(line.id, line);
+            line.quantity = quantity;
+            markChanged(email, cart, line.id);
+        }
+        return line;
+    }
+
+    private void removeLine(String email, CachedCart cart, CartLine line) {
+        cart.items.remove(line.id);
+        cart.changed.remove(line.id);
+        cart.deleted.put(line.id, line);
+        dirty.put(email, cart);
+    }
+
+    private CartDeltaDto changed(String email, CachedCart cart, Long knownVersion,
+                                 Collection<Long> changedIds, Collection<Long> removedIds) {
+        cart.version++;
+        dirty.put(email, cart);
+        CartDeltaDto delta = cart.toDelta();
+        if (knownVersion == null || knownVersion != cart.version - 1) {
+            return delta.setCart(cart.toDto());
+        }
+        for (Long id : changedIds) {
+            CartLine line = cart.items.get(id);
+            if (line != null) {
+                delta.getCartItems().add(line.toDto());
+            }
+        }
+        for (Long id : removedIds) {
+            if (!cart.items.containsKey(id)) {
+                delta.getRemovedCartItemIds().add(id);
+            }
+        }
+        return delta;
+    }
+
+    private void markChanged(String email, CachedCart cart, Long cartItemId) {
+        cart.changed.add(cartItemId);
+        dirty.put(email, cart);
+    }
+
+    private void write(Collection<String> emails) {
+        writeLock.lock();
+        try {
+            Map<String, Changes> changes = new HashMap<>();
+            for (String email : emails) {
+                CachedCart cart = dirty.get(email);
+                if (cart == null) {
+                    continue;
+                }
+                synchronized (cart) {
+                    changes.put(email, cart.takeChanges());
+                }
+            }
+            Map<Long, Integer> quantities = new HashMap<>();
+            List<Long> deletedIds = new ArrayList<>();
+            Map<Long, Long> versions = new HashMap<>();
+            for (Changes cartChanges : changes.values()) {
+                quantities.putAll(cartChanges.quantities());
+                deletedIds.addAll(cartChanges.deleted().keySet());
+                versions.put(cartChanges.cart().id, cartChanges.version());
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    cartItemWriteRepository.updateQuantities(quantities);
+                    cartItemWriteRepository.deleteAll(deletedIds);
+                    cartItemWriteRepository.updateVersions(versions);
+                });
+            } catch (RuntimeException e) {
+                changes.forEach(this::restore);
+                throw e;
+            }
+            changes.forEach(this::clean);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void restore(String email, Changes changes) {
+        CachedCart cart = changes.cart();
+        synchronized (cart) {
+            cart.inFlightDeletes.keySet().removeAll(changes.deleted().keySet());
+            for (Long id : changes.quantities().keySet()) {
+                if (cart.items.containsKey(id)) {
+                    cart.changed.add(id);
+                }
+            }
+            changes.deleted().forEach((id, line) -> {
+                if (!cart.items.containsKey(id)) {
+                    cart.deleted.put(id, line);
+                }
+            });
+            dirty.put(email, cart);
+        }
+    }
+
+    private void clean(String email, Changes changes) {
+        CachedCart cart = changes.cart();
+        synchronized (cart) {
+            cart.inFlightDeletes.keySet().removeAll(changes.deleted().keySet());
+            if (cart.changed.isEmpty() && cart.deleted.isEmpty()
+                    && cart.version == changes.version()) {
+                dirty.remove(email, cart);
+            }
+        }
+    }
+
+    private static class Shard extends LinkedHashMap<String, CachedCart> {
+        private final int capacity;
+
+        private Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedCart> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static class CachedCart {
+        private final Long id;
+        private final Long userId;
+        private final Map<Long, CartLine> items = new LinkedHashMap<>();
+        private final Map<Long, CartLine> deleted = new HashMap<>();
+        private final Map<Long, CartLine> inFlightDeletes = new HashMap<>();
+        private final Set<Long> changed = new HashSet<>();
+        private long version;
+
+        private CachedCart(Long id, Long userId, long version) {
+            this.id = id;
+            this.userId = userId;
+            this.version = version;
+        }
+
+        private CartLine findByBookId(Collection<CartLine> lines, Long bookId) {
+            for (CartLine line : lines) {
+                if (line.bookId.equals(bookId)) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        private boolean isDeleting(Collection<Long> bookIds) {
+            for (Long bookId : bookIds) {
+                if (findByBookId(inFlightDeletes.values(), bookId) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Changes takeChanges() {
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (Long changedId : changed) {
+                quantities.put(changedId, items.get(changedId).quantity);
+            }
+            inFlightDeletes.putAll(deleted);
+            Changes changes = new Changes(this, quantities, new HashMap<>(deleted), version);
+            changed.clear();
+            deleted.clear();
+            return changes;
+        }
+
+        private ShoppingCartResponseDto toDto() {
+            return new ShoppingCartResponseDto()
+                    .setId(id)
+                    .setUserId(userId)
+                    .setVersion(version)
+                    .setCartItems(items.values().stream()
+                            .map(CartLine::toDto)
+                            .collect(Collectors.toSet()));
+        }
+
+        private CartDeltaDto toDelta() {
+            CartDeltaDto delta = new CartDeltaDto().setVersion(version);
+            for (CartLine line : items.values()) {
+                delta.setItemCount(delta.getItemCount() + 1)
+                        .setTotalQuantity(delta.getTotalQuantity() + line.quantity)
+                        .setTotal(delta.getTotal().add(
+                                line.price.multiply(BigDecimal.valueOf(line.quantity))));
+            }
+            return delta;
+        }
+    }
+
+    private static class CartLine {
+        private final Long id;
+        private final Long bookId;
+        private final String bookTitle;
+        private final BigDecimal price;
+        private int quantity;
+
+        private CartLine(Long id, Long bookId, String bookTitle, BigDecimal price,
+                         int quantity) {
+            this.id = id;
+            this.bookId = bookId;
+            this.bookTitle = bookTitle;
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        private CartItemResponseDto toDto() {
+            return new CartItemResponseDto()
+                    .setId(id)
+                    .setBookId(bookId)
+                    .setBookTitle(bookTitle)
+                    .setQuantity(quantity);
+        }
+    }
+
+    private record Changes(CachedCart cart, Map<Long, Integer> quantities,
+                           Map<Long, CartLine> deleted, long version) {
+    }
+}
@@ -0,0 +1,44 @@
+package book.store.catalog;
+
+import java.util.Locale;
+
+public final class AcceptEncoding {
+    private static final String ANY = "*";
+    private static final String QUALITY = "q=";
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double codingQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding)) {
+                codingQuality = quality(parts);
+            } else if (name.equals(ANY)) {
+                anyQuality = quality(parts);
+            }
+        }
+        Double quality = codingQuality != null ? codingQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith(QUALITY)) {
+                try {
+                    return Double.parseDouble(parameter.substring(QUALITY.length()));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
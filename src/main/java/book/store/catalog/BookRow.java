@@ -0,0 +1,13 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookRequestDto;
+
+public record BookRow(long line, BookRequestDto book, String error) {
+    public static BookRow valid(long line, BookRequestDto book) {
+        return new BookRow(line, book, null);
+    }
+
+    public static BookRow invalid(long line, String error) {
+        return new BookRow(line, null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package book.store.catalog;
+
+import java.io.IOException;
+
+public interface BookRowReader {
+    BookRow next() throws IOException;
+}
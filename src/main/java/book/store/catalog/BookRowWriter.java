@@ -0,0 +1,10 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookResponseDto;
+import java.io.IOException;
+
+public interface BookRowWriter {
+    void write(BookResponseDto book) throws IOException;
+
+    void flush() throws IOException;
+}
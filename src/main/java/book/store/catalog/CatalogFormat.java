@@ -0,0 +1,32 @@
+package book.store.catalog;
+
+import java.util.List;
+import org.springframework.http.MediaType;
+
+public enum CatalogFormat {
+    CSV(MediaType.parseMediaType(CatalogFormat.CSV_VALUE)),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final List<String> CSV_COLUMNS = List.of("title", "author", "isbn", "price",
+            "description", "coverImage", "categoryIds");
+    public static final String CATEGORY_IDS_SEPARATOR = ";";
+    private final MediaType mediaType;
+
+    CatalogFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static CatalogFormat of(MediaType mediaType) {
+        for (CatalogFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported catalog format: " + mediaType);
+    }
+}
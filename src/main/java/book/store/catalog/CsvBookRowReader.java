@@ -0,0 +1,146 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookRequestDto;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CsvBookRowReader implements BookRowReader {
+    private static final int MAX_FIELD_LENGTH = 65536;
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line;
+
+    public CsvBookRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> record;
+        long start;
+        do {
+            start = line + 1;
+            try {
+                record = readRecord();
+            } catch (IllegalArgumentException e) {
+                return BookRow.invalid(start, e.getMessage());
+            }
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        if (record.size() != columns.size()) {
+            return BookRow.invalid(start, "Expected " + columns.size() + " columns but found "
+                    + record.size());
+        }
+        try {
+            return BookRow.valid(start, toDto(record));
+        } catch (IllegalArgumentException e) {
+            return BookRow.invalid(start, e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        columns = new HashMap<>();
+        for (int i = 0; header != null && i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.keySet().containsAll(CatalogFormat.CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must contain columns "
+                    + CatalogFormat.CSV_COLUMNS);
+        }
+    }
+
+    private BookRequestDto toDto(List<String> record) {
+        String price = value(record, "price");
+        try {
+            return new BookRequestDto()
+                    .setTitle(value(record, "title"))
+                    .setAuthor(value(record, "author"))
+                    .setIsbn(value(record, "isbn"))
+                    .setPrice(price == null ? null : Double.valueOf(price))
+                    .setDescription(value(record, "description"))
+                    .setCoverImage(value(record, "coverImage"))
+                    .setCategoryIds(categoryIds(value(record, "categoryIds")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price and categoryIds must be numbers");
+        }
+    }
+
+    private String value(List<String> record, String column) {
+        String value = record.get(columns.get(column));
+        return value.isEmpty() ? null : value;
+    }
+
+    private Set<Long> categoryIds(String value) {
+        Set<Long> categoryIds = new HashSet<>();
+        if (value != null) {
+            for (String id : value.split(CatalogFormat.CATEGORY_IDS_SEPARATOR)) {
+                if (!id.isBlank()) {
+                    categoryIds.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        return categoryIds;
+    }
+
+    private List<String> readRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new IllegalArgumentException("Quoted field is not closed");
+                }
+                line++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Field is longer than " + MAX_FIELD_LENGTH
+                        + " characters");
+            }
+        }
+    }
+}
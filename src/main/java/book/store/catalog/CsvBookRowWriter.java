@@ -0,0 +1,61 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookResponseDto;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+public class CsvBookRowWriter implements BookRowWriter {
+    private static final String ID_COLUMN = "id";
+    private final Writer writer;
+    private boolean headerWritten;
+
+    public CsvBookRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(BookResponseDto book) throws IOException {
+        writeHeader();
+        writer.write(String.valueOf(book.getId()));
+        writeField(book.getTitle());
+        writeField(book.getAuthor());
+        writeField(book.getIsbn());
+        writeField(book.getPrice() == null ? null : book.getPrice().toString());
+        writeField(book.getDescription());
+        writeField(book.getCoverImage());
+        writeField(book.getCategoryIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(CatalogFormat.CATEGORY_IDS_SEPARATOR)));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            writer.write(ID_COLUMN + "," + String.join(",", CatalogFormat.CSV_COLUMNS) + "\n");
+            headerWritten = true;
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
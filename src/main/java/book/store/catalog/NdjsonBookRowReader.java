@@ -0,0 +1,36 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonBookRowReader implements BookRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    public NdjsonBookRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(BookRequestDto.class);
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        try {
+            return BookRow.valid(line, objectReader.readValue(text));
+        } catch (JsonProcessingException e) {
+            return BookRow.invalid(line, e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonBookRowWriter implements BookRowWriter {
+    private final Writer writer;
+    private final ObjectWriter objectWriter;
+
+    public NdjsonBookRowWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectWriter = objectMapper.writerFor(BookResponseDto.class);
+    }
+
+    @Override
+    public void write(BookResponseDto book) throws IOException {
+        writer.write(objectWriter.writeValueAsString(book));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
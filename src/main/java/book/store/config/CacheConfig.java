@@ -0,0 +1,31 @@
+package book.store.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+    public static final String BOOKS_CACHE = "books";
+    public static final String PRINCIPALS_CACHE = "principals";
+    public static final String CATEGORIES_REGION = "categories";
+    public static final String ROLES_REGION = "roles";
+    public static final String BOOK_CATEGORIES_REGION = "book_categories";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${spring.cache.caffeine.spec:maximumSize=10000,expireAfterWrite=10m,"
+                    + "recordStats}") String booksSpec,
+            @Value("${security.principal-cache.spec:maximumSize=10000,expireAfterWrite=60s,"
+                    + "recordStats}") String principalsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS_CACHE);
+        cacheManager.setCaffeine(Caffeine.from(booksSpec));
+        cacheManager.registerCustomCache(PRINCIPALS_CACHE, Caffeine.from(principalsSpec).build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,50 @@
+package book.store.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        counter(registry, statistics, "hibernate.statements", "status", "prepared",
+                Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "hibernate.statements", "status", "closed",
+                Statistics::getCloseStatementCount);
+        counter(registry, statistics, "hibernate.entities", "operation", "load",
+                Statistics::getEntityLoadCount);
+        counter(registry, statistics, "hibernate.entities", "operation", "fetch",
+                Statistics::getEntityFetchCount);
+        counter(registry, statistics, "hibernate.collections", "operation", "load",
+                Statistics::getCollectionLoadCount);
+        counter(registry, statistics, "hibernate.collections", "operation", "fetch",
+                Statistics::getCollectionFetchCount);
+        counter(registry, statistics, "hibernate.query.executions", "type", "hql",
+                Statistics::getQueryExecutionCount);
+        counter(registry, statistics, "hibernate.query.executions", "type", "natural_id",
+                Statistics::getNaturalIdQueryExecutionCount);
+        Gauge.builder("hibernate.query.executions.max", statistics,
+                        Statistics::getQueryExecutionMaxTime)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, Statistics statistics, String name,
+                         String tag, String value, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .tag(tag, value)
+                .register(registry);
+    }
+}
@@ -0,0 +1,56 @@
+package book.store.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+    private static final String[] REGIONS = {CacheConfig.CATEGORIES_REGION,
+            CacheConfig.ROLES_REGION, CacheConfig.BOOK_CATEGORIES_REGION};
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            register(registry, statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            register(registry, statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics,
+                            stats -> hitRatio(stats.getDomainDataRegionStatistics(region)))
+                    .tag("region", region)
+                    .register(registry);
+        }
+        FunctionCounter.builder("hibernate.query.cache.requests", statistics,
+                        Statistics::getQueryCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.requests", statistics,
+                        Statistics::getQueryCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private void register(MeterRegistry registry, Statistics statistics, String region,
+                          String result, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                        stats -> count.applyAsDouble(stats.getDomainDataRegionStatistics(region)))
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+}
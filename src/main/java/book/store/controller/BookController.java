@@ -1,16 +1,34 @@
 package book.store.controller;
 
+import book.store.catalog.AcceptEncoding;
+import book.store.catalog.CatalogFormat;
+import book.store.dto.book.BookImportResultDto;
 import book.store.dto.book.BookRequestDto;
 import book.store.dto.book.BookResponseDto;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
+import book.store.dto.inventory.InventoryRequestDto;
+import book.store.dto.inventory.InventoryResponseDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.dto.page.ResourceVersionDto;
+import book.store.service.BookExportService;
+import book.store.service.BookImportService;
 import book.store.service.BookService;
+import book.store.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,33 +36,78 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/books")
 public class BookController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String GZIP_ENCODING = "gzip";
     private final BookService bookService;
+    private final InventoryService inventoryService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a book by ID")
-    public BookResponseDto getBookById(@PathVariable Long id) {
-        return bookService.getById(id);
+    public BookResponseDto getBookById(@PathVariable Long id, WebRequest webRequest) {
+        BookResponseDto book = bookService.getById(id);
+        ResourceVersionDto version = ResourceVersionDto.of(book);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+        return book;
     }
 
     @GetMapping
     @Operation(summary = "Get all available books")
-    public List<BookResponseDto> getAll(Pageable pageable) {
-        return bookService.findAll(pageable);
+    public ResponseEntity<List<BookResponseDto>> getAll(
+            Pageable pageable, @RequestParam(required = false) String after,
+            WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(
+                        bookService.getPageVersion(after, pageable).etag())) {
+            return null;
+        }
+        CursorPageDto<BookResponseDto> page = bookService.findAll(after, pageable);
+        return ResponseEntity.ok()
+                .eTag(ResourceVersionDto.of(page.content()).etag())
+                .headers(headers -> {
+                    if (page.nextCursor() != null) {
+                        headers.set(NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                })
+                .body(page.content());
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search books by title or author")
-    public List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto) {
-        return bookService.searchBooks(bookSearchParametersDto);
+    @Operation(summary = "Search books by title, author, isbn or free text")
+    public List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto,
+                                             Pageable pageable) {
+        return bookService.searchBooks(bookSearchParametersDto, pageable);
+    }
+
+    @GetMapping("/search/faceted")
+    @Operation(summary = "Search books and count matches by category, author and price")
+    public BookSearchResultDto searchBooksWithFacets(
+            BookSearchParametersDto bookSearchParametersDto, Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean facets) {
+        return bookService.searchBooks(bookSearchParametersDto, pageable, facets);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles and authors starting with the typed text")
+    public List<BookSuggestionDto> suggest(@RequestParam("q") String query,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(query, limit);
     }
 
     @PostMapping
@@ -55,6 +118,41 @@ public class BookController {
         return bookService.save(requestDto);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {CatalogFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import books from a CSV or NDJSON stream, upserting them by isbn")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public BookImportResultDto importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE)
+                                           MediaType contentType,
+                                           InputStream inputStream) throws IOException {
+        return bookImportService.importBooks(inputStream, CatalogFormat.of(contentType));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all books as a CSV or NDJSON stream")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "NDJSON") CatalogFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        boolean gzip = AcceptEncoding.accepts(acceptEncoding, GZIP_ENCODING);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        return response.body(outputStream -> {
+            if (!gzip) {
+                bookExportService.exportBooks(outputStream, format);
+                return;
+            }
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+            bookExportService.exportBooks(gzipOutputStream, format);
+            gzipOutputStream.finish();
+        });
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update information for book")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -70,4 +168,19 @@ public class BookController {
     public void delete(@PathVariable Long id) {
         bookService.deleteById(id);
     }
+
+    @GetMapping("/{id}/inventory")
+    @Operation(summary = "Get the number of copies of a book in stock")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public InventoryResponseDto getInventory(@PathVariable Long id) {
+        return inventoryService.getByBookId(id);
+    }
+
+    @PutMapping("/{id}/inventory")
+    @Operation(summary = "Set the number of copies of a book in stock")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public InventoryResponseDto setInventory(@PathVariable Long id,
+                                             @RequestBody @Valid InventoryRequestDto requestDto) {
+        return inventoryService.setQuantity(id, requestDto);
+    }
 }
@@ -3,6 +3,8 @@ package book.store.controller;
 import book.store.dto.book.BookWithoutCategoryResponseDto;
 import book.store.dto.category.CategoryRequestDto;
 import book.store.dto.category.CategoryResponseDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.dto.page.ResourceVersionDto;
 import book.store.service.BookService;
 import book.store.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,7 +13,9 @@ import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +24,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Category management")
 @RequiredArgsConstructor
@@ -41,14 +47,27 @@ public class CategoryController {
 
     @GetMapping
     @Operation(summary = "Get a list of categories")
-    public List<CategoryResponseDto> getAll(Pageable pageable) {
-        return categoryService.findAll(pageable);
+    public ResponseEntity<List<CategoryResponseDto>> getAll(Pageable pageable,
+                                                            WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(categoryService.getPageVersion(pageable).etag())) {
+            return null;
+        }
+        List<CategoryResponseDto> categories = categoryService.findAll(pageable);
+        return ResponseEntity.ok()
+                .eTag(ResourceVersionDto.of(categories).etag())
+                .body(categories);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a category by Id")
-    public CategoryResponseDto getCategoryById(@PathVariable Long id) {
-        return categoryService.getById(id);
+    public CategoryResponseDto getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        CategoryResponseDto category = categoryService.getById(id);
+        ResourceVersionDto version = ResourceVersionDto.of(category);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+        return category;
     }
 
     @PutMapping("/{id}")
@@ -69,8 +88,17 @@ public class CategoryController {
 
     @GetMapping("/{id}/books")
     @Operation(summary = "Get a list of books by category id")
-    public List<BookWithoutCategoryResponseDto> getBooksByCategoryId(@PathVariable Long id,
-                                                                     Pageable pageable) {
-        return bookService.findAllByCategoryId(id, pageable);
+    public ResponseEntity<List<BookWithoutCategoryResponseDto>> getBooksByCategoryId(
+            @PathVariable Long id, Pageable pageable,
+            @RequestParam(required = false) String after) {
+        CursorPageDto<BookWithoutCategoryResponseDto> page =
+                bookService.findAllByCategoryId(id, after, pageable);
+        return ResponseEntity.ok()
+                .headers(headers -> {
+                    if (page.nextCursor() != null) {
+                        headers.set(BookController.NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                })
+                .body(page.content());
     }
 }
@@ -1,15 +1,21 @@
 package book.store.controller;
 
+import book.store.dto.order.OrderCommandResponseDto;
 import book.store.dto.order.OrderItemResponseDto;
 import book.store.dto.order.OrderResponseDto;
 import book.store.dto.order.ShippingAdressRequestDto;
 import book.store.dto.order.UpdatedStatusRequestDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.service.OrderCommandService;
 import book.store.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +24,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Tag(name = "Order management")
 @RequiredArgsConstructor
@@ -26,12 +34,24 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderCommandService orderCommandService;
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_USER')")
     @Operation(summary = "Get all orders")
-    public Set<OrderResponseDto> getAllOrdersByUser(Authentication authentication) {
-        return orderService.getAllOrdersByUserEmail(authentication.getName());
+    public ResponseEntity<List<OrderResponseDto>> getAllOrdersByUser(
+            Authentication authentication, Pageable pageable,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeItems) {
+        CursorPageDto<OrderResponseDto> page = orderService.findAllByUserEmail(
+                authentication.getName(), after, pageable, includeItems);
+        return ResponseEntity.ok()
+                .headers(headers -> {
+                    if (page.nextCursor() != null) {
+                        headers.set(BookController.NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                })
+                .body(page.content());
     }
 
     @PostMapping
@@ -42,6 +62,30 @@ public class OrderController {
         return orderService.createOrder(authentication.getName(), requestDto);
     }
 
+    @PostMapping("/requests")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Queue a new order and poll its request for the result")
+    public ResponseEntity<OrderCommandResponseDto> queueOrder(
+            Authentication authentication,
+            @RequestBody @Valid ShippingAdressRequestDto requestDto) {
+        OrderCommandResponseDto orderCommand =
+                orderCommandService.enqueue(authentication.getName(), requestDto);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(orderCommand.getId())
+                        .toUri())
+                .body(orderCommand);
+    }
+
+    @GetMapping("/requests/{requestId}")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Get the status of a queued order")
+    public OrderCommandResponseDto getOrderRequest(@PathVariable Long requestId,
+                                                   Authentication authentication) {
+        return orderCommandService.getByIdAndUserEmail(requestId, authentication.getName());
+    }
+
     @PatchMapping("/{orderId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @Operation(summary = "Update order status")
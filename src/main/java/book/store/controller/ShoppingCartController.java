@@ -1,5 +1,7 @@
 package book.store.controller;
 
+import book.store.dto.cart.CartBatchRequestDto;
+import book.store.dto.cart.CartDeltaDto;
 import book.store.dto.cart.CartItemCreateRequestDto;
 import book.store.dto.cart.CartItemUpdateRequestDto;
 import book.store.dto.cart.ShoppingCartResponseDto;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -28,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/cart")
 @PreAuthorize("hasRole('ROLE_USER')")
 public class ShoppingCartController {
+    public static final String CART_VERSION_HEADER = "X-Cart-Version";
     private final ShoppingCartService shoppingCartService;
     private final CartItemService cartItemService;
 
@@ -42,8 +46,34 @@ public class ShoppingCartController {
     public ShoppingCartResponseDto addBookToShoppingCart(
             Authentication authentication,
             @RequestBody @Valid CartItemCreateRequestDto requestDto) {
-        cartItemService.create(authentication.getName(), requestDto);
-        return shoppingCartService.getShoppingCartByUserEmail(authentication.getName());
+        return cartItemService.create(authentication.getName(), requestDto, null).getCart();
+    }
+
+    @PostMapping(headers = CART_VERSION_HEADER)
+    @Operation(summary = "Add a book to shopping cart and get the changes since a version")
+    public CartDeltaDto addBookToShoppingCart(
+            Authentication authentication,
+            @RequestBody @Valid CartItemCreateRequestDto requestDto,
+            @RequestHeader(CART_VERSION_HEADER) Long cartVersion) {
+        return cartItemService.create(authentication.getName(), requestDto, cartVersion);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Add, update and remove many books in shopping cart at once")
+    public ShoppingCartResponseDto applyBatch(
+            Authentication authentication,
+            @RequestBody @Valid CartBatchRequestDto requestDto) {
+        return cartItemService.applyBatch(authentication.getName(), requestDto, null)
+                .getCart();
+    }
+
+    @PostMapping(path = "/batch", headers = CART_VERSION_HEADER)
+    @Operation(summary = "Apply many cart changes and get the changes since a version")
+    public CartDeltaDto applyBatch(
+            Authentication authentication,
+            @RequestBody @Valid CartBatchRequestDto requestDto,
+            @RequestHeader(CART_VERSION_HEADER) Long cartVersion) {
+        return cartItemService.applyBatch(authentication.getName(), requestDto, cartVersion);
     }
 
     @PutMapping("/cart-items/{cartItemId}")
@@ -52,16 +82,34 @@ public class ShoppingCartController {
             @PathVariable Long cartItemId,
             @RequestBody @Valid CartItemUpdateRequestDto requestDto,
             Authentication authentication) {
-        cartItemService.update(cartItemId, requestDto);
-        return shoppingCartService.getShoppingCartByUserEmail(authentication.getName());
+        return cartItemService.update(authentication.getName(), cartItemId, requestDto, null)
+                .getCart();
+    }
+
+    @PutMapping(path = "/cart-items/{cartItemId}", headers = CART_VERSION_HEADER)
+    @Operation(summary = "Update books quantity and get the changes since a version")
+    public CartDeltaDto updateCartItem(
+            @PathVariable Long cartItemId,
+            @RequestBody @Valid CartItemUpdateRequestDto requestDto,
+            Authentication authentication,
+            @RequestHeader(CART_VERSION_HEADER) Long cartVersion) {
+        return cartItemService.update(authentication.getName(), cartItemId, requestDto,
+                cartVersion);
     }
 
     @DeleteMapping("/cart-items/{cartItemId}")
     @Operation(summary = "Delete a book from shopping cart")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ShoppingCartResponseDto deleteCartItem(@PathVariable Long cartItemId,
-                                                  Authentication authentication) {
-        cartItemService.deleteById(cartItemId);
-        return shoppingCartService.getShoppingCartByUserEmail(authentication.getName());
+    public void deleteCartItem(@PathVariable Long cartItemId, Authentication authentication) {
+        cartItemService.deleteById(authentication.getName(), cartItemId);
+    }
+
+    @DeleteMapping(path = "/cart-items/{cartItemId}", headers = CART_VERSION_HEADER)
+    @Operation(summary = "Delete a book and get the changes since a version")
+    public CartDeltaDto deleteCartItem(
+            @PathVariable Long cartItemId,
+            Authentication authentication,
+            @RequestHeader(CART_VERSION_HEADER) Long cartVersion) {
+        return cartItemService.deleteById(authentication.getName(), cartItemId, cartVersion);
     }
 }
@@ -0,0 +1,7 @@
+package book.store.dto.book;
+
+import java.util.Map;
+
+public record BookFacetsDto(Map<Long, Integer> categories, Map<String, Integer> authors,
+                            Map<String, Integer> prices) {
+}
@@ -0,0 +1,17 @@
+package book.store.dto.book;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookImportResultDto {
+    private long rows;
+    private long imported;
+    private long failed;
+    private List<BookImportErrorDto> errors = new ArrayList<>();
+    private long durationMs;
+    private double rowsPerSecond;
+}
@@ -1,12 +1,15 @@
 package book.store.dto.book;
 
+import book.store.repository.VersionView;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
 import java.util.Set;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
-public class BookResponseDto {
+public class BookResponseDto implements VersionView {
     private Long id;
     private String title;
     private String author;
@@ -15,4 +18,8 @@ public class BookResponseDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    @JsonIgnore
+    private long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
@@ -1,14 +1,18 @@
 package book.store.dto.book;
 
+import book.store.search.BookSearchIndex;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public record BookSearchParametersDto(List<String> title, List<String> author) {
+public record BookSearchParametersDto(String query, List<String> title, List<String> author,
+                                      List<String> isbn) {
     public Map<String, List<String>> getParams() {
         Map<String, List<String>> params = new HashMap<>();
+        params.put(BookSearchIndex.QUERY_PARAM, query() == null ? null : List.of(query()));
         params.put("title", title());
         params.put("author", author());
+        params.put("isbn", isbn());
         return params;
     }
 }
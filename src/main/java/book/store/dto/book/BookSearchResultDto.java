@@ -0,0 +1,6 @@
+package book.store.dto.book;
+
+import java.util.List;
+
+public record BookSearchResultDto(List<BookResponseDto> content, BookFacetsDto facets) {
+}
@@ -0,0 +1,8 @@
+package book.store.dto.book;
+
+public record BookSuggestionDto(String text, Type type, int weight) {
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+}
@@ -0,0 +1,24 @@
+package book.store.dto.cart;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CartBatchRequestDto {
+    private static final int MAX_ITEMS = 500;
+    @NotNull
+    @Size(max = MAX_ITEMS)
+    private List<@Valid @NotNull CartItemCreateRequestDto> add = new ArrayList<>();
+    @NotNull
+    @Size(max = MAX_ITEMS)
+    private List<@Valid @NotNull CartItemBatchUpdateDto> update = new ArrayList<>();
+    @NotNull
+    @Size(max = MAX_ITEMS)
+    private List<@NotNull Long> remove = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package book.store.dto.cart;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CartDeltaDto {
+    private Long version;
+    private List<CartItemResponseDto> cartItems = new ArrayList<>();
+    private List<Long> removedCartItemIds = new ArrayList<>();
+    private int itemCount;
+    private int totalQuantity;
+    private BigDecimal total = BigDecimal.ZERO;
+    private ShoppingCartResponseDto cart;
+}
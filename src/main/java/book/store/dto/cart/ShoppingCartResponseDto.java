@@ -9,5 +9,6 @@ import lombok.experimental.Accessors;
 public class ShoppingCartResponseDto {
     private Long id;
     private Long userId;
+    private Long version;
     private Set<CartItemResponseDto> cartItems;
 }
@@ -1,12 +1,19 @@
 package book.store.dto.category;
 
+import book.store.repository.VersionView;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
-public class CategoryResponseDto {
+public class CategoryResponseDto implements VersionView {
     private Long id;
     private String name;
     private String description;
+    @JsonIgnore
+    private long version;
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,14 @@
+package book.store.dto.inventory;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class InventoryRequestDto {
+    @NotNull
+    @Min(value = 0)
+    private Integer quantity;
+}
@@ -0,0 +1,11 @@
+package book.store.dto.inventory;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class InventoryResponseDto {
+    private Long bookId;
+    private int quantity;
+}
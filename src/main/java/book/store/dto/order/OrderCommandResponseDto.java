@@ -0,0 +1,14 @@
+package book.store.dto.order;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+public class OrderCommandResponseDto {
+    private Long id;
+    private String status;
+    private Long orderId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
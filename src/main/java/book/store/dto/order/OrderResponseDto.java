@@ -1,5 +1,6 @@
 package book.store.dto.order;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
 import lombok.Data;
@@ -10,6 +11,6 @@ public class OrderResponseDto {
     private Long userId;
     private Set<OrderItemResponseDto> orderItems;
     private LocalDateTime orderDate;
-    private Double total;
+    private BigDecimal total;
     private String status;
 }
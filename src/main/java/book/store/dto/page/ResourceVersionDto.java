@@ -0,0 +1,32 @@
+package book.store.dto.page;
+
+import book.store.repository.VersionView;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
+import org.springframework.util.DigestUtils;
+
+public record ResourceVersionDto(String etag, long lastModified) {
+    private static final long UNKNOWN_LAST_MODIFIED = -1;
+
+    public static ResourceVersionDto of(VersionView resource) {
+        return new ResourceVersionDto(quote(resource.getId() + "-" + resource.getVersion()),
+                resource.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                        .toEpochMilli());
+    }
+
+    public static ResourceVersionDto of(List<? extends VersionView> resources) {
+        StringBuilder versions = new StringBuilder();
+        for (VersionView resource : resources) {
+            versions.append(resource.getId()).append('-').append(resource.getVersion())
+                    .append(',');
+        }
+        String digest = DigestUtils.md5DigestAsHex(
+                versions.toString().getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersionDto(quote(digest), UNKNOWN_LAST_MODIFIED);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,25 @@
+package book.store.event;
+
+import book.store.config.CacheConfig;
+import book.store.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@RequiredArgsConstructor
+@Component
+public class BookCacheInvalidator {
+    private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (cache != null) {
+            bookRepository.findAllIdsByCategoryId(event.categoryId()).forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package book.store.event;
+
+import book.store.config.CacheConfig;
+import book.store.model.Book;
+import book.store.model.CacheInvalidation;
+import book.store.model.CacheRegionVersion;
+import book.store.model.Category;
+import book.store.model.Role;
+import book.store.repository.CacheInvalidationRepository;
+import book.store.repository.CacheRegionVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheRegionSynchronizer {
+    private static final String BOOK_CATEGORIES_ROLE = Book.class.getName() + ".categories";
+    private final CacheRegionVersionRepository cacheRegionVersionRepository;
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final long invalidationTtlMinutes;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private Long lastInvalidationId;
+
+    public CacheRegionSynchronizer(CacheRegionVersionRepository cacheRegionVersionRepository,
+                                   CacheInvalidationRepository cacheInvalidationRepository,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${second-level-cache.invalidation-ttl-minutes:60}")
+                                   long invalidationTtlMinutes) {
+        this.cacheRegionVersionRepository = cacheRegionVersionRepository;
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationTtlMinutes = invalidationTtlMinutes;
+    }
+
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        cacheRegionVersionRepository.increment(event.region());
+    }
+
+    @EventListener
+    public void onCacheEntryChanged(CacheEntryChangedEvent event) {
+        cacheInvalidationRepository.save(new CacheInvalidation()
+                .setRegion(event.region())
+                .setEntityId(event.id())
+                .setCreatedAt(LocalDateTime.now()));
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        cacheRegionVersionRepository.increment(CacheConfig.CATEGORIES_REGION);
+        cacheRegionVersionRepository.increment(CacheConfig.BOOK_CATEGORIES_REGION);
+    }
+
+    @Scheduled(fixedDelayString = "${second-level-cache.sync-interval-ms:5000}")
+    public synchronized void synchronize() {
+        for (CacheRegionVersion regionVersion : cacheRegionVersionRepository.findAll()) {
+            Long seen = versions.put(regionVersion.getRegion(), regionVersion.getVersion());
+            if (seen != null && !seen.equals(regionVersion.getVersion())) {
+                evict(regionVersion.getRegion());
+            }
+        }
+        if (lastInvalidationId == null) {
+            lastInvalidationId = cacheInvalidationRepository.findMaxId();
+            return;
+        }
+        for (CacheInvalidation invalidation : cacheInvalidationRepository
+                .findAllByIdGreaterThanOrderByIdAsc(lastInvalidationId)) {
+            evict(invalidation.getRegion(), invalidation.getEntityId());
+            lastInvalidationId = invalidation.getId();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${second-level-cache.purge-interval-ms:3600000}")
+    public void purgeInvalidations() {
+        cacheInvalidationRepository.deleteAllCreatedBefore(
+                LocalDateTime.now().minusMinutes(invalidationTtlMinutes));
+    }
+
+    private void evict(String region) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictRegion(region);
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void evict(String region, Long id) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        switch (region) {
+            case CacheConfig.BOOK_CATEGORIES_REGION ->
+                    cache.evictCollectionData(BOOK_CATEGORIES_ROLE, id);
+            case CacheConfig.CATEGORIES_REGION -> cache.evictEntityData(Category.class, id);
+            case CacheConfig.ROLES_REGION -> cache.evictEntityData(Role.class, id);
+            default -> evict(region);
+        }
+    }
+}
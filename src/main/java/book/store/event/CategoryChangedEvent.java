@@ -0,0 +1,4 @@
+package book.store.event;
+
+public record CategoryChangedEvent(Long categoryId) {
+}
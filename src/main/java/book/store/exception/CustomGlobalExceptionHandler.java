@@ -14,11 +14,17 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @ControllerAdvice
 public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    public static final String CLIENT_ERROR_ATTRIBUTE =
+            CustomGlobalExceptionHandler.class.getName() + ".CLIENT_ERROR";
+    private static final List<Class<? extends Exception>> CLIENT_ERRORS =
+            List.of(EntityNotFoundException.class, IllegalArgumentException.class);
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -32,23 +38,63 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
                 .map(this::getErrors)
                 .toList();
         body.put("errors", errors);
+        markClientError(request);
         return new ResponseEntity<>(body, headers, status);
     }
 
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(
+            Exception ex,
+            Object body,
+            HttpHeaders headers,
+            HttpStatusCode statusCode,
+            WebRequest request) {
+        if (statusCode.is4xxClientError()) {
+            markClientError(request);
+        }
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
     @ExceptionHandler(RegistrationException.class)
-    public ResponseEntity<Object> handleRegistrationException(RegistrationException ex) {
+    public ResponseEntity<Object> handleRegistrationException(RegistrationException ex,
+                                                              WebRequest request) {
+        markClientError(request);
         return getObjectResponseEntity(ex, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<Object> handleOutOfStockException(OutOfStockException ex,
+                                                            WebRequest request) {
+        markClientError(request);
+        return getObjectResponseEntity(ex, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OrderTotalExceededException.class)
+    public ResponseEntity<Object> handleOrderTotalExceededException(
+            OrderTotalExceededException ex, WebRequest request) {
+        markClientError(request);
+        return getObjectResponseEntity(ex, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<Object> handleOrderQueueFullException(OrderQueueFullException ex) {
+        return getObjectResponseEntity(ex, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<String> handleAccessDeniedException(AccessDeniedException ex) {
+    public ResponseEntity<String> handleAccessDeniedException(AccessDeniedException ex,
+                                                              WebRequest request) {
+        markClientError(request);
         String errorMessage = "You do not have access to this resource!";
         StringBuilder hello = new StringBuilder();
         return new ResponseEntity<>(errorMessage, HttpStatus.FORBIDDEN);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleAnyException(Exception ex) {
+    public ResponseEntity<Object> handleAnyException(Exception ex, WebRequest request) {
+        if (CLIENT_ERRORS.stream().anyMatch(type -> type.isInstance(ex))) {
+            markClientError(request);
+        }
         return getObjectResponseEntity(ex, HttpStatus.BAD_REQUEST);
     }
 
@@ -60,6 +106,10 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(body, httpStatus);
     }
 
+    private void markClientError(WebRequest request) {
+        request.setAttribute(CLIENT_ERROR_ATTRIBUTE, true, RequestAttributes.SCOPE_REQUEST);
+    }
+
     private String getErrors(ObjectError e) {
         if (e instanceof FieldError) {
             String field = ((FieldError) e).getField();
@@ -0,0 +1,7 @@
+package book.store.exception;
+
+public class OrderTotalExceededException extends RuntimeException {
+    public OrderTotalExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package book.store.idempotency;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,227 @@
+package book.store.idempotency;
+
+import book.store.exception.CustomGlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                             @Value("${idempotency.paths:/orders,/orders/requests,/cart}")
+                             String[] paths,
+                             @Value("${idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.paths = Set.of(paths);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER
+                    + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] requestBody = StreamUtils.copyToByteArray(request.getInputStream());
+        String requestHash = digest(requestBody);
+        IdempotencyStore.Lease lease;
+        try {
+            lease = idempotencyStore.acquire(authentication.getName(), key,
+                    request.getServletPath(), requestHash);
+        } catch (IdempotencyConflictException e) {
+            writeError(response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        } catch (IdempotencyKeyReusedException e) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        }
+        if (lease.replay() != null) {
+            write(response, lease.replay());
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        IdempotentResponse result = null;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, requestBody), wrapper);
+            if (isReplayable(request, wrapper.getStatus())) {
+                boolean bodyRetained = wrapper.getContentSize() <= maxBodyBytes;
+                result = new IdempotentResponse(request.getServletPath(), requestHash,
+                        wrapper.getStatus(), wrapper.getContentType(), replayedHeaders(wrapper),
+                        bodyRetained
+                                ? new String(wrapper.getContentAsByteArray(),
+                                        StandardCharsets.UTF_8)
+                                : null,
+                        bodyRetained);
+            }
+        } finally {
+            idempotencyStore.complete(lease, result);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean isReplayable(HttpServletRequest request, int status) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+        return statusCode.is2xxSuccessful() || (statusCode.is4xxClientError()
+                && Boolean.TRUE.equals(request.getAttribute(
+                        CustomGlobalExceptionHandler.CLIENT_ERROR_ATTRIBUTE)));
+    }
+
+    private void write(HttpServletResponse response, IdempotentResponse stored)
+            throws IOException {
+        if (!stored.bodyRetained()) {
+            writeError(response, HttpStatus.CONFLICT, "The request with this Idempotency-Key"
+                    + " already completed with status " + stored.status()
+                    + ", but its response is too large to replay");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.headers() != null) {
+            stored.headers().forEach(response::setHeader);
+        }
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private Map<String, String> replayedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    private String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding() != null
+                    ? getCharacterEncoding()
+                    : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
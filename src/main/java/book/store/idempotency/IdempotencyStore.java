@@ -0,0 +1,163 @@
+package book.store.idempotency;
+
+import book.store.model.IdempotencyRecord;
+import book.store.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+    private final Cache<String, IdempotentResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${idempotency.cache-size:10000}") long cacheSize,
+                            @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Lease acquire(String userEmail, String key, String path, String requestHash) {
+        String scope = userEmail + '\n' + key;
+        while (true) {
+            IdempotentResponse cached = responses.getIfPresent(scope);
+            if (cached != null) {
+                return Lease.replay(checkRequest(cached, path, requestHash));
+            }
+            CompletableFuture<IdempotentResponse> future = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(scope, future);
+            if (running != null) {
+                IdempotentResponse response = await(running);
+                if (response != null) {
+                    return Lease.replay(checkRequest(response, path, requestHash));
+                }
+                continue;
+            }
+            try {
+                return acquireStored(scope, userEmail, key, path, requestHash, future);
+            } catch (RuntimeException e) {
+                inFlight.remove(scope);
+                future.complete(null);
+                throw e;
+            }
+        }
+    }
+
+    public void complete(Lease lease, IdempotentResponse response) {
+        try {
+            if (response != null) {
+                idempotencyRecordRepository.save(lease.record()
+                        .setStatusCode(response.status())
+                        .setContentType(response.contentType())
+                        .setResponseHeaders(response.headers())
+                        .setResponseBody(response.body())
+                        .setBodyRetained(response.bodyRetained()));
+                responses.put(lease.scope(), response);
+            } else {
+                idempotencyRecordRepository.delete(lease.record());
+            }
+        } finally {
+            inFlight.remove(lease.scope());
+            lease.future().complete(response);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+    }
+
+    private Lease acquireStored(String scope, String userEmail, String key, String path,
+                                String requestHash,
+                                CompletableFuture<IdempotentResponse> future) {
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository
+                .findByUserEmailAndIdempotencyKey(userEmail, key);
+        if (stored.isPresent() && stored.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            idempotencyRecordRepository.delete(stored.get());
+            stored = Optional.empty();
+        }
+        if (stored.isPresent()) {
+            if (stored.get().getStatusCode() == null) {
+                throw new IdempotencyConflictException(
+                        "A request with this Idempotency-Key is still in progress");
+            }
+            IdempotentResponse response = toResponse(stored.get());
+            responses.put(scope, response);
+            inFlight.remove(scope);
+            future.complete(response);
+            return Lease.replay(checkRequest(response, path, requestHash));
+        }
+        IdempotencyRecord record = new IdempotencyRecord()
+                .setUserEmail(userEmail)
+                .setIdempotencyKey(key)
+                .setRequestPath(path)
+                .setRequestHash(requestHash)
+                .setExpiresAt(LocalDateTime.now().plus(ttl));
+        try {
+            return new Lease(scope, idempotencyRecordRepository.save(record), future, null);
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyConflictException(
+                    "A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(
+                    "Interrupted while waiting for a request with the same Idempotency-Key");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IdempotencyConflictException(
+                    "A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private IdempotentResponse checkRequest(IdempotentResponse response, String path,
+                                            String requestHash) {
+        if (!response.path().equals(path)
+                || (response.requestHash() != null
+                && !response.requestHash().equals(requestHash))) {
+            throw new IdempotencyKeyReusedException(
+                    "This Idempotency-Key was already used for another request");
+        }
+        return response;
+    }
+
+    private static IdempotentResponse toResponse(IdempotencyRecord record) {
+        return new IdempotentResponse(record.getRequestPath(), record.getRequestHash(),
+                record.getStatusCode(), record.getContentType(), record.getResponseHeaders(),
+                record.getResponseBody(), record.isBodyRetained());
+    }
+
+    public record Lease(String scope, IdempotencyRecord record,
+                        CompletableFuture<IdempotentResponse> future, IdempotentResponse replay) {
+        private static Lease replay(IdempotentResponse response) {
+            return new Lease(null, null, null, response);
+        }
+    }
+}
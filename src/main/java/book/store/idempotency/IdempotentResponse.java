@@ -0,0 +1,8 @@
+package book.store.idempotency;
+
+import java.util.Map;
+
+public record IdempotentResponse(String path, String requestHash, int status, String contentType,
+                                 Map<String, String> headers, String body,
+                                 boolean bodyRetained) {
+}
@@ -7,25 +7,55 @@ import book.store.dto.book.BookWithoutCategoryResponseDto;
 import book.store.model.Book;
 import book.store.model.Category;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
 @Mapper(config = MapperConfig.class)
 public interface BookMapper {
+    @Mapping(target = "categoryIds", source = "categories", qualifiedByName = "categoryIds")
     BookResponseDto toDto(Book book);
 
+    @Mapping(target = "categoryIds", ignore = true)
+    BookResponseDto toDto(Book book, @Context Map<Long, Set<Long>> categoryIds);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Book toModel(BookRequestDto requestDto);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateModel(BookRequestDto requestDto, @MappingTarget Book book);
+
     BookWithoutCategoryResponseDto toDtoWithoutCategories(Book book);
 
-    @AfterMapping
-    default void setCategoryId(@MappingTarget BookResponseDto bookResponseDto, Book book) {
-        bookResponseDto.setCategoryIds(book.getCategories().stream()
+    default List<BookResponseDto> toDtos(List<Book> books, Map<Long, Set<Long>> categoryIds) {
+        return books.stream()
+                .map(book -> toDto(book, categoryIds))
+                .toList();
+    }
+
+    @Named("categoryIds")
+    default Set<Long> toCategoryIds(Set<Category> categories) {
+        return categories.stream()
                 .map(Category::getId)
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toSet());
+    }
+
+    @AfterMapping
+    default void setCategoryIds(@MappingTarget BookResponseDto bookResponseDto, Book book,
+                                @Context Map<Long, Set<Long>> categoryIds) {
+        bookResponseDto.setCategoryIds(categoryIds.getOrDefault(book.getId(), Set.of()));
     }
 
     @AfterMapping
@@ -5,10 +5,20 @@ import book.store.dto.category.CategoryRequestDto;
 import book.store.dto.category.CategoryResponseDto;
 import book.store.model.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(config = MapperConfig.class)
 public interface CategoryMapper {
     CategoryResponseDto toDto(Category category);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category toModel(CategoryRequestDto categoryRequestDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateModel(CategoryRequestDto categoryRequestDto, @MappingTarget Category category);
 }
@@ -0,0 +1,11 @@
+package book.store.mapper;
+
+import book.store.config.MapperConfig;
+import book.store.dto.inventory.InventoryResponseDto;
+import book.store.model.Inventory;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperConfig.class)
+public interface InventoryMapper {
+    InventoryResponseDto toDto(Inventory inventory);
+}
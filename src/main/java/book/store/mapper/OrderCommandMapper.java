@@ -0,0 +1,11 @@
+package book.store.mapper;
+
+import book.store.config.MapperConfig;
+import book.store.dto.order.OrderCommandResponseDto;
+import book.store.model.OrderCommand;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperConfig.class)
+public interface OrderCommandMapper {
+    OrderCommandResponseDto toDto(OrderCommand orderCommand);
+}
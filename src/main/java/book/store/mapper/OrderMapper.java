@@ -3,6 +3,7 @@ package book.store.mapper;
 import book.store.config.MapperConfig;
 import book.store.dto.order.OrderResponseDto;
 import book.store.model.Order;
+import book.store.repository.OrderSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -11,4 +12,7 @@ public interface OrderMapper {
 
     @Mapping(source = "user.id", target = "userId")
     OrderResponseDto toDto(Order order);
+
+    @Mapping(target = "orderItems", ignore = true)
+    OrderResponseDto toDto(OrderSummary orderSummary);
 }
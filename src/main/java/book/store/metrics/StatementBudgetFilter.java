@@ -0,0 +1,52 @@
+package book.store.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@Component
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "http.server.requests.statements";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private final MeterRegistry registry;
+    private final int statementBudget;
+
+    public StatementBudgetFilter(MeterRegistry registry,
+                                 @Value("${metrics.sql.statement-budget:25}")
+                                 int statementBudget) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.count();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? UNKNOWN_URI : uri.toString())
+                    .tag("over_budget", String.valueOf(statements > statementBudget))
+                    .register(registry)
+                    .record(statements);
+        }
+    }
+}
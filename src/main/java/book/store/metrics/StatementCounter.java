@@ -0,0 +1,20 @@
+package book.store.metrics;
+
+public final class StatementCounter {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private StatementCounter() {
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+
+    public static void increment() {
+        COUNT.get()[0]++;
+    }
+}
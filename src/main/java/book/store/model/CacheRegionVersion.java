@@ -0,0 +1,17 @@
+package book.store.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "cache_region_versions")
+public class CacheRegionVersion {
+    @Id
+    private String region;
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,45 @@
+package book.store.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Data
+@Accessors(chain = true)
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    @Column(name = "request_path", nullable = false)
+    private String requestPath;
+    @Column(name = "request_hash")
+    private String requestHash;
+    @Column(name = "status_code")
+    private Integer statusCode;
+    @Column(name = "content_type")
+    private String contentType;
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "response_headers")
+    private Map<String, String> responseHeaders;
+    @Column(name = "response_body")
+    private String responseBody;
+    @Column(name = "body_retained", nullable = false)
+    private boolean bodyRetained = true;
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,20 @@
+package book.store.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@Entity
+@Table(name = "inventory")
+public class Inventory {
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+    @Column(nullable = false)
+    private int quantity;
+}
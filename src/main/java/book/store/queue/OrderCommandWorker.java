@@ -0,0 +1,142 @@
+package book.store.queue;
+
+import book.store.dto.order.ShippingAdressRequestDto;
+import book.store.model.OrderCommand;
+import book.store.repository.OrderCommandRepository;
+import book.store.service.OrderService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "orders.async.enabled", havingValue = "true")
+public class OrderCommandWorker implements SmartLifecycle {
+    private static final int MAX_ERROR_LENGTH = 255;
+    private final OrderCommandRepository orderCommandRepository;
+    private final OrderService orderService;
+    private final OrderQueue orderQueue;
+    private final PlatformTransactionManager transactionManager;
+    @Value("${orders.async.workers:4}")
+    private int workers;
+    @Value("${orders.async.batch-size:50}")
+    private int batchSize;
+    @Value("${orders.async.poll-interval-ms:200}")
+    private long pollIntervalMs;
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drain);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(pollIntervalMs * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int processBatch() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Long> claimedIds = new ArrayList<>();
+        List<OrderCommand> placed;
+        try {
+            placed = transactionTemplate.execute(status -> {
+                List<OrderCommand> commands = orderCommandRepository.lockQueued(batchSize);
+                commands.forEach(command -> claimedIds.add(command.getId()));
+                commands.forEach(this::place);
+                return commands;
+            });
+        } catch (RuntimeException e) {
+            placed = new ArrayList<>();
+            for (Long id : claimedIds) {
+                placeSeparately(transactionTemplate, id, placed);
+            }
+        }
+        placed.forEach(command -> orderQueue.recordProcessed(command.getCreatedAt(),
+                command.getProcessedAt()));
+        orderQueue.refresh(orderCommandRepository.countByStatus(OrderCommand.Status.QUEUED));
+        return claimedIds.size();
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                if (processBatch() == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void placeSeparately(TransactionTemplate transactionTemplate, Long id,
+                                 List<OrderCommand> placed) {
+        try {
+            transactionTemplate.execute(status -> {
+                orderCommandRepository.lockQueuedById(id).ifPresent(command -> {
+                    place(command);
+                    placed.add(command);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            transactionTemplate.execute(status -> {
+                orderCommandRepository.lockQueuedById(id).ifPresent(command -> command
+                        .setStatus(OrderCommand.Status.FAILED)
+                        .setError(getError(e))
+                        .setProcessedAt(LocalDateTime.now()));
+                return null;
+            });
+        }
+    }
+
+    private void place(OrderCommand command) {
+        ShippingAdressRequestDto requestDto = new ShippingAdressRequestDto();
+        requestDto.setShippingAddress(command.getShippingAddress());
+        Long orderId = orderService.createOrder(command.getUserEmail(), requestDto).getId();
+        command.setStatus(OrderCommand.Status.COMPLETED)
+                .setOrderId(orderId)
+                .setProcessedAt(LocalDateTime.now());
+    }
+
+    private String getError(RuntimeException e) {
+        String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,56 @@
+package book.store.queue;
+
+import book.store.exception.OrderQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderQueue {
+    private final AtomicLong depth = new AtomicLong();
+    private final long capacity;
+    private final Counter rejected;
+    private final Timer latency;
+
+    public OrderQueue(MeterRegistry meterRegistry,
+                      @Value("${orders.async.capacity:10000}") long capacity) {
+        this.capacity = capacity;
+        Gauge.builder("orders.queue.depth", depth, AtomicLong::get)
+                .description("Order commands waiting to be placed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.queue.rejected")
+                .description("Order commands rejected because the queue was full")
+                .register(meterRegistry);
+        this.latency = Timer.builder("orders.queue.latency")
+                .description("Time from queueing an order command to placing the order")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void offer() {
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            throw new OrderQueueFullException("Too many orders are waiting to be placed, "
+                    + "please try again later");
+        }
+    }
+
+    public void refresh(long queued) {
+        depth.set(queued);
+    }
+
+    public void recordProcessed(LocalDateTime createdAt, LocalDateTime processedAt) {
+        latency.record(Duration.between(createdAt, processedAt));
+    }
+
+    public long depth() {
+        return depth.get();
+    }
+}
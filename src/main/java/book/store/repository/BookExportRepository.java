@@ -0,0 +1,73 @@
+package book.store.repository;
+
+import book.store.model.Book;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class BookExportRepository {
+    private static final String SELECT_BOOKS = "SELECT b.id, b.title, b.author, b.isbn, "
+            + "b.price, b.description, b.cover_image, c.id AS category_id FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamAll(BiConsumer<Book, Set<Long>> consumer) {
+        BookCollector collector = new BookCollector(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BOOKS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, collector);
+        collector.flush();
+    }
+
+    private static class BookCollector implements RowCallbackHandler {
+        private final BiConsumer<Book, Set<Long>> consumer;
+        private Book book;
+        private Set<Long> categoryIds;
+
+        private BookCollector(BiConsumer<Book, Set<Long>> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (book == null || book.getId() != id) {
+                flush();
+                book = new Book()
+                        .setId(id)
+                        .setTitle(resultSet.getString("title"))
+                        .setAuthor(resultSet.getString("author"))
+                        .setIsbn(resultSet.getString("isbn"))
+                        .setPrice(resultSet.getBigDecimal("price"))
+                        .setDescription(resultSet.getString("description"))
+                        .setCoverImage(resultSet.getString("cover_image"));
+                categoryIds = new HashSet<>();
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                categoryIds.add(categoryId);
+            }
+        }
+
+        private void flush() {
+            if (book != null) {
+                consumer.accept(book, categoryIds);
+                book = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package book.store.repository;
+
+import book.store.dto.book.BookRequestDto;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class BookImportRepository {
+    private static final String UPSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) "
+            + "VALUES (:title, :author, :isbn, :price, :description, :coverImage, false) "
+            + "ON DUPLICATE KEY UPDATE title = VALUES(title), author = VALUES(author), "
+            + "price = VALUES(price), description = VALUES(description), "
+            + "cover_image = VALUES(cover_image), is_deleted = false, version = version + 1, "
+            + "updated_at = CURRENT_TIMESTAMP(6)";
+    private static final String SELECT_IDS = "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String DELETE_CATEGORIES =
+            "DELETE FROM books_categories WHERE book_id IN (:bookIds)";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (:bookId, :categoryId)";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<String, Long> upsertAll(Collection<BookRequestDto> books) {
+        Map<String, BookRequestDto> byIsbn = new LinkedHashMap<>();
+        for (BookRequestDto book : books) {
+            byIsbn.put(book.getIsbn(), book);
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BOOK, byIsbn.values().stream()
+                .map(this::toParameters)
+                .toArray(SqlParameterSource[]::new));
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS, Map.of("isbns", byIsbn.keySet()), resultSet -> {
+            ids.put(resultSet.getString("isbn"), resultSet.getLong("id"));
+        });
+        jdbcTemplate.update(DELETE_CATEGORIES, Map.of("bookIds", ids.values()));
+        List<SqlParameterSource> categories = new ArrayList<>();
+        byIsbn.forEach((isbn, book) -> book.getCategoryIds().forEach(categoryId ->
+                categories.add(new MapSqlParameterSource()
+                        .addValue("bookId", ids.get(isbn))
+                        .addValue("categoryId", categoryId))));
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY,
+                categories.toArray(SqlParameterSource[]::new));
+        return ids;
+    }
+
+    private SqlParameterSource toParameters(BookRequestDto book) {
+        return new MapSqlParameterSource()
+                .addValue("title", book.getTitle())
+                .addValue("author", book.getAuthor())
+                .addValue("isbn", book.getIsbn())
+                .addValue("price", BigDecimal.valueOf(book.getPrice()))
+                .addValue("description", book.getDescription())
+                .addValue("coverImage", book.getCoverImage());
+    }
+}
@@ -1,13 +1,55 @@
 package book.store.repository;
 
 import book.store.model.Book;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface BookRepository extends JpaRepository<Book,Long>, JpaSpecificationExecutor<Book> {
     @Query("SELECT b FROM Book b LEFT JOIN b.categories c WHERE c.id = :categoryId")
     List<Book> findAllBooksByCategoryId(Long categoryId, Pageable pageable);
+
+    List<Book> findAllBy(Pageable pageable);
+
+    List<Book> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<VersionView> findAllVersionsBy(Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Book b SET b.version = b.version + 1 WHERE b.id = :id AND b.isDeleted = false")
+    int incrementVersion(Long id);
+
+    @Query(value = "SELECT book_id FROM books_categories WHERE category_id = :categoryId",
+            nativeQuery = true)
+    List<Long> findAllIdsByCategoryId(Long categoryId);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId FROM Book b JOIN b.categories c "
+            + "WHERE b.id IN :bookIds")
+    List<BookCategoryId> findAllCategoryIdsByBookIds(Collection<Long> bookIds);
+
+    default Map<Long, Set<Long>> findCategoryIdsByBookIds(Collection<Long> bookIds) {
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return categoryIds;
+        }
+        for (BookCategoryId bookCategoryId : findAllCategoryIdsByBookIds(bookIds)) {
+            categoryIds.computeIfAbsent(bookCategoryId.getBookId(), id -> new HashSet<>())
+                    .add(bookCategoryId.getCategoryId());
+        }
+        return categoryIds;
+    }
+
+    interface BookCategoryId {
+        Long getBookId();
+
+        Long getCategoryId();
+    }
 }
@@ -0,0 +1,21 @@
+package book.store.repository;
+
+import book.store.model.CacheInvalidation;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findAllByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM CacheInvalidation i")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation i WHERE i.createdAt < :createdAt")
+    int deleteAllCreatedBefore(LocalDateTime createdAt);
+}
@@ -0,0 +1,14 @@
+package book.store.repository;
+
+import book.store.model.CacheRegionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CacheRegionVersionRepository extends JpaRepository<CacheRegionVersion, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE CacheRegionVersion v SET v.version = v.version + 1 WHERE v.region = :region")
+    int increment(String region);
+}
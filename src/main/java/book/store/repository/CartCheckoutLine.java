@@ -0,0 +1,6 @@
+package book.store.repository;
+
+import java.math.BigDecimal;
+
+public record CartCheckoutLine(Long bookId, int quantity, BigDecimal price) {
+}
@@ -0,0 +1,6 @@
+package book.store.repository;
+
+import java.util.Set;
+
+public record CartItemIds(Long cartId, Set<Long> itemIds) {
+}
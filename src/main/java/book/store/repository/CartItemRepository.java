@@ -2,6 +2,13 @@ package book.store.repository;
 
 import book.store.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    boolean existsByShoppingCartUserEmail(String email);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id = :shoppingCartId")
+    int deleteAllByShoppingCartId(Long shoppingCartId);
 }
@@ -0,0 +1,196 @@
+package book.store.repository;
+
+import book.store.dto.cart.CartItemResponseDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CartItemWriteRepository {
+    private static final String UPSERT_ITEM = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (:cartId, :bookId, :quantity) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity, id = LAST_INSERT_ID(id)";
+    private static final String UPSERT_ITEM_BY_EMAIL = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) "
+            + "SELECT sc.id, :bookId, :quantity FROM shopping_carts sc "
+            + "JOIN users u ON u.id = sc.user_id "
+            + "WHERE u.email = :email AND sc.is_deleted = false "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity";
+    private static final String SELECT_CART_ITEM_IDS = "SELECT sc.id AS cart_id, "
+            + "ci.id AS item_id FROM shopping_carts sc JOIN users u ON u.id = sc.user_id "
+            + "LEFT JOIN cart_items ci ON ci.shopping_cart_id = sc.id "
+            + "WHERE u.email = :email AND sc.is_deleted = false";
+    private static final String SELECT_IDS_BY_BOOK_IDS = "SELECT id, book_id FROM cart_items "
+            + "WHERE shopping_cart_id = :cartId AND book_id IN (:bookIds)";
+    private static final String SELECT_CHECKOUT_LINES = "SELECT ci.book_id, ci.quantity, "
+            + "b.price FROM cart_items ci JOIN books b ON b.id = ci.book_id "
+            + "WHERE ci.shopping_cart_id = :cartId";
+    private static final String UPDATE_QUANTITY =
+            "UPDATE cart_items SET quantity = :quantity WHERE id = :id";
+    private static final String UPDATE_QUANTITY_BY_EMAIL = "UPDATE cart_items ci "
+            + "JOIN shopping_carts sc ON sc.id = ci.shopping_cart_id "
+            + "JOIN users u ON u.id = sc.user_id SET ci.quantity = :quantity "
+            + "WHERE ci.id = :id AND u.email = :email";
+    private static final String DELETE_ITEMS = "DELETE FROM cart_items WHERE id IN (:ids)";
+    private static final String DELETE_ITEM_BY_EMAIL = "DELETE ci FROM cart_items ci "
+            + "JOIN shopping_carts sc ON sc.id = ci.shopping_cart_id "
+            + "JOIN users u ON u.id = sc.user_id WHERE ci.id = :id AND u.email = :email";
+    private static final String INCREMENT_VERSION = "UPDATE shopping_carts sc "
+            + "JOIN users u ON u.id = sc.user_id SET sc.version = sc.version + 1 "
+            + "WHERE u.email = :email AND sc.is_deleted = false";
+    private static final String UPDATE_VERSION =
+            "UPDATE shopping_carts SET version = :version WHERE id = :id";
+    private static final String SELECT_SUMMARY = "SELECT sc.id AS cart_id, sc.version, "
+            + "COUNT(ci.id) AS item_count, COALESCE(SUM(ci.quantity), 0) AS total_quantity, "
+            + "COALESCE(SUM(ci.quantity * b.price), 0) AS total FROM shopping_carts sc "
+            + "JOIN users u ON u.id = sc.user_id "
+            + "LEFT JOIN cart_items ci ON ci.shopping_cart_id = sc.id "
+            + "LEFT JOIN books b ON b.id = ci.book_id "
+            + "WHERE u.email = :email AND sc.is_deleted = false GROUP BY sc.id, sc.version";
+    private static final String SELECT_LINES = "SELECT ci.id, ci.book_id, b.title, ci.quantity "
+            + "FROM cart_items ci JOIN books b ON b.id = ci.book_id "
+            + "WHERE ci.shopping_cart_id = :cartId AND ";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Long upsert(Long cartId, Long bookId, int quantity) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(UPSERT_ITEM, new MapSqlParameterSource()
+                .addValue("cartId", cartId)
+                .addValue("bookId", bookId)
+                .addValue("quantity", quantity), keyHolder, new String[] {"id"});
+        return keyHolder.getKey().longValue();
+    }
+
+    public int upsert(String email, Long bookId, int quantity) {
+        return jdbcTemplate.update(UPSERT_ITEM_BY_EMAIL, new MapSqlParameterSource()
+                .addValue("email", email)
+                .addValue("bookId", bookId)
+                .addValue("quantity", quantity));
+    }
+
+    public void upsertAll(Long cartId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ITEM, quantities.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("cartId", cartId)
+                        .addValue("bookId", entry.getKey())
+                        .addValue("quantity", entry.getValue()))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    public Optional<CartItemIds> findCartItemIds(String email) {
+        Map<Long, Set<Long>> carts = new HashMap<>();
+        jdbcTemplate.query(SELECT_CART_ITEM_IDS, Map.of("email", email), resultSet -> {
+            Set<Long> itemIds = carts.computeIfAbsent(resultSet.getLong("cart_id"),
+                    cartId -> new HashSet<>());
+            long itemId = resultSet.getLong("item_id");
+            if (!resultSet.wasNull()) {
+                itemIds.add(itemId);
+            }
+        });
+        return carts.entrySet().stream()
+                .findFirst()
+                .map(entry -> new CartItemIds(entry.getKey(), entry.getValue()));
+    }
+
+    public Map<Long, Long> findIdsByBookIds(Long cartId, Collection<Long> bookIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_BOOK_IDS, Map.of("cartId", cartId, "bookIds", bookIds),
+                resultSet -> {
+                    ids.put(resultSet.getLong("book_id"), resultSet.getLong("id"));
+                });
+        return ids;
+    }
+
+    public List<CartCheckoutLine> findCheckoutLines(Long cartId) {
+        return jdbcTemplate.query(SELECT_CHECKOUT_LINES, Map.of("cartId", cartId),
+                (resultSet, rowNum) -> new CartCheckoutLine(resultSet.getLong("book_id"),
+                        resultSet.getInt("quantity"), resultSet.getBigDecimal("price")));
+    }
+
+    public void updateQuantities(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_QUANTITY, quantities.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("quantity", entry.getValue()))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    public int updateQuantity(String email, Long id, int quantity) {
+        return jdbcTemplate.update(UPDATE_QUANTITY_BY_EMAIL, Map.of("email", email, "id", id,
+                "quantity", quantity));
+    }
+
+    public int delete(String email, Long id) {
+        return jdbcTemplate.update(DELETE_ITEM_BY_EMAIL, Map.of("email", email, "id", id));
+    }
+
+    public int incrementVersion(String email) {
+        return jdbcTemplate.update(INCREMENT_VERSION, Map.of("email", email));
+    }
+
+    public void updateVersions(Map<Long, Long> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_VERSION, versions.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("version", entry.getValue()))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    public Optional<CartSummary> findSummary(String email) {
+        return jdbcTemplate.query(SELECT_SUMMARY, Map.of("email", email),
+                (resultSet, rowNum) -> new CartSummary(resultSet.getLong("cart_id"),
+                        resultSet.getLong("version"), resultSet.getInt("item_count"),
+                        resultSet.getInt("total_quantity"), resultSet.getBigDecimal("total")))
+                .stream()
+                .findFirst();
+    }
+
+    public List<CartItemResponseDto> findLines(Long cartId, Collection<Long> ids,
+                                               Collection<Long> bookIds) {
+        List<String> conditions = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            conditions.add("ci.id IN (:ids)");
+        }
+        if (!bookIds.isEmpty()) {
+            conditions.add("ci.book_id IN (:bookIds)");
+        }
+        if (conditions.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_LINES + "(" + String.join(" OR ", conditions) + ")",
+                Map.of("cartId", cartId, "ids", ids, "bookIds", bookIds),
+                (resultSet, rowNum) -> new CartItemResponseDto()
+                        .setId(resultSet.getLong("id"))
+                        .setBookId(resultSet.getLong("book_id"))
+                        .setBookTitle(resultSet.getString("title"))
+                        .setQuantity(resultSet.getInt("quantity")));
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(DELETE_ITEMS, Map.of("ids", ids));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package book.store.repository;
+
+import java.math.BigDecimal;
+
+public record CartSummary(Long cartId, long version, int itemCount, int totalQuantity,
+                          BigDecimal total) {
+}
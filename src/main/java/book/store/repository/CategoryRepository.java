@@ -1,7 +1,22 @@
 package book.store.repository;
 
 import book.store.model.Category;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @Query("SELECT c.id FROM Category c WHERE c.id IN :ids")
+    Set<Long> findAllIdsByIdIn(Collection<Long> ids);
+
+    List<VersionView> findAllVersionsBy(Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Category c SET c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.isDeleted = false")
+    int incrementVersion(Long id);
 }
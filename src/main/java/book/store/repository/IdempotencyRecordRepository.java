@@ -0,0 +1,19 @@
+package book.store.repository;
+
+import book.store.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByUserEmailAndIdempotencyKey(String userEmail,
+                                                                  String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord ir WHERE ir.expiresAt < :now")
+    int deleteAllExpired(LocalDateTime now);
+}
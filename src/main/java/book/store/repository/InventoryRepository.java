@@ -0,0 +1,17 @@
+package book.store.repository;
+
+import book.store.model.Inventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+    @Modifying
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity "
+            + "WHERE i.bookId = :bookId AND i.quantity >= :quantity")
+    int decrementIfAvailable(Long bookId, int quantity);
+
+    @Modifying
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity WHERE i.bookId = :bookId")
+    int increment(Long bookId, int quantity);
+}
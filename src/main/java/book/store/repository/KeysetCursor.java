@@ -0,0 +1,67 @@
+package book.store.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public record KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+    public static final String ID = "id";
+    private static final String SEPARATOR = ":";
+
+    public static KeysetCursor of(Object row, Sort.Order order) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+        Object value = wrapper.getPropertyValue(order.getProperty());
+        return new KeysetCursor(order.getProperty(), order.getDirection(),
+                (Long) wrapper.getPropertyValue(ID), value == null ? null : value.toString());
+    }
+
+    public static KeysetCursor decode(String cursor, Set<String> allowedProperties) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            KeysetCursor keysetCursor = new KeysetCursor(parts[0],
+                    Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+            if (!allowedProperties.contains(keysetCursor.property())) {
+                throw new IllegalArgumentException();
+            }
+            return keysetCursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static boolean supports(Pageable pageable, Set<String> allowedProperties) {
+        Sort sort = pageable.getSort();
+        return sort.isUnsorted() || sort.stream().count() == 1
+                && allowedProperties.contains(sort.iterator().next().getProperty());
+    }
+
+    public static Sort.Order orderOf(Pageable pageable, Set<String> allowedProperties) {
+        if (!supports(pageable, allowedProperties)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by one of "
+                    + allowedProperties);
+        }
+        return pageable.getSort().isUnsorted()
+                ? Sort.Order.asc(ID) : pageable.getSort().iterator().next();
+    }
+
+    public static Sort sortOf(Sort.Order order) {
+        Sort sort = Sort.by(order);
+        return ID.equals(order.getProperty())
+                ? sort : sort.and(Sort.by(order.getDirection(), ID));
+    }
+
+    public Sort sort() {
+        return sortOf(new Sort.Order(direction, property));
+    }
+
+    public String encode() {
+        String cursor = String.join(SEPARATOR, property, direction.name(), id.toString(),
+                value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
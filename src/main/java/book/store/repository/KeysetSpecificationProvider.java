@@ -0,0 +1,59 @@
+package book.store.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KeysetSpecificationProvider<T> {
+    public Specification<T> getSpecification(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.direction().isAscending();
+            Predicate idAfter = after(criteriaBuilder, root.<Long>get(KeysetCursor.ID),
+                    cursor.id(), ascending);
+            if (KeysetCursor.ID.equals(cursor.property())) {
+                return idAfter;
+            }
+            Class<?> type = root.get(cursor.property()).getJavaType();
+            return keyAfter(root, criteriaBuilder, cursor, type, idAfter);
+        };
+    }
+
+    private Predicate keyAfter(Root<T> root, CriteriaBuilder criteriaBuilder,
+                               KeysetCursor cursor, Class<?> type, Predicate idAfter) {
+        boolean ascending = cursor.direction().isAscending();
+        if (BigDecimal.class.equals(type)) {
+            return keyAfter(criteriaBuilder, root.get(cursor.property()),
+                    new BigDecimal(cursor.value()), ascending, idAfter);
+        }
+        if (LocalDateTime.class.equals(type)) {
+            return keyAfter(criteriaBuilder, root.get(cursor.property()),
+                    LocalDateTime.parse(cursor.value()), ascending, idAfter);
+        }
+        if (Long.class.equals(type)) {
+            return keyAfter(criteriaBuilder, root.get(cursor.property()),
+                    Long.valueOf(cursor.value()), ascending, idAfter);
+        }
+        return keyAfter(criteriaBuilder, root.get(cursor.property()), cursor.value(),
+                ascending, idAfter);
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate keyAfter(
+            CriteriaBuilder criteriaBuilder, Expression<Y> key, Y value,
+            boolean ascending, Predicate idAfter) {
+        return criteriaBuilder.or(after(criteriaBuilder, key, value, ascending),
+                criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter));
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate after(
+            CriteriaBuilder criteriaBuilder, Expression<Y> key, Y value, boolean ascending) {
+        return ascending
+                ? criteriaBuilder.greaterThan(key, value)
+                : criteriaBuilder.lessThan(key, value);
+    }
+}
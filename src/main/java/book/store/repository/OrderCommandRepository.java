@@ -0,0 +1,21 @@
+package book.store.repository;
+
+import book.store.model.OrderCommand;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OrderCommandRepository extends JpaRepository<OrderCommand, Long> {
+    @Query(value = "SELECT * FROM order_commands WHERE status = 'QUEUED' ORDER BY id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OrderCommand> lockQueued(int limit);
+
+    @Query(value = "SELECT * FROM order_commands WHERE id = :id AND status = 'QUEUED' "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OrderCommand> lockQueuedById(Long id);
+
+    long countByStatus(OrderCommand.Status status);
+
+    Optional<OrderCommand> findByIdAndUserEmail(Long id, String userEmail);
+}
@@ -1,9 +1,26 @@
 package book.store.repository;
 
 import book.store.model.OrderItem;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Set<OrderItem> findAllByOrderId(Long orderId);
+
+    @Query("SELECT oi.order.id AS orderId, oi.id AS id, oi.book.id AS bookId, "
+            + "oi.quantity AS quantity FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    List<OrderItemLine> findAllLinesByOrderIds(Collection<Long> orderIds);
+
+    interface OrderItemLine {
+        Long getOrderId();
+
+        Long getId();
+
+        Long getBookId();
+
+        Integer getQuantity();
+    }
 }
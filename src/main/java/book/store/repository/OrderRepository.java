@@ -1,9 +1,14 @@
 package book.store.repository;
 
 import book.store.model.Order;
-import java.util.Set;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    Set<Order> findAllByUserEmail(String email);
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSummaryRepository {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(Long id);
 }
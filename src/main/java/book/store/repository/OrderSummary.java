@@ -0,0 +1,9 @@
+package book.store.repository;
+
+import book.store.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummary(Long id, Long userId, LocalDateTime orderDate, BigDecimal total,
+                           Order.Status status) {
+}
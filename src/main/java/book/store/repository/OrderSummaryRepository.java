@@ -0,0 +1,11 @@
+package book.store.repository;
+
+import book.store.model.Order;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface OrderSummaryRepository {
+    List<OrderSummary> findSummaries(Specification<Order> specification, Sort sort, long offset,
+                                     int limit);
+}
@@ -0,0 +1,37 @@
+package book.store.repository;
+
+import book.store.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class OrderSummaryRepositoryImpl implements OrderSummaryRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<OrderSummary> findSummaries(Specification<Order> specification, Sort sort,
+                                            long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = criteriaBuilder.createQuery(OrderSummary.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(criteriaBuilder.construct(OrderSummary.class,
+                root.get("id"),
+                root.get("user").get("id"),
+                root.get("orderDate"),
+                root.get("total"),
+                root.get("status")));
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
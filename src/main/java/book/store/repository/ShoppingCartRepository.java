@@ -1,8 +1,18 @@
 package book.store.repository;
 
 import book.store.model.ShoppingCart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     ShoppingCart findShoppingCartByUserEmail(String email);
+
+    @EntityGraph(attributePaths = {"user", "cartItems", "cartItems.book"})
+    ShoppingCart findWithCartItemsByUserEmail(String email);
+
+    @Modifying
+    @Query("UPDATE ShoppingCart sc SET sc.version = sc.version + 1 WHERE sc.id = :id")
+    int incrementVersion(Long id);
 }
@@ -0,0 +1,11 @@
+package book.store.repository;
+
+import java.time.LocalDateTime;
+
+public interface VersionView {
+    Long getId();
+
+    long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
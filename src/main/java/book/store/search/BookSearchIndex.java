@@ -0,0 +1,442 @@
+package book.store.search;
+
+import book.store.dto.book.BookFacetsDto;
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.repository.BookRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+public class BookSearchIndex {
+    public static final String QUERY_PARAM = "query";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final double PHRASE_WEIGHT = 2.0;
+    private static final int MAX_AUTHOR_FACETS = 10;
+    private static final double[] PRICE_BUCKET_BOUNDS = {10, 25, 50, 100};
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, IndexedBook> books = new TreeMap<>();
+    private final Map<Field, NavigableMap<String, Map<Long, Integer>>> postings =
+            new EnumMap<>(Field.class);
+    private final Map<Long, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Integer> authorCounts = new HashMap<>();
+    private final int[] priceCounts = new int[PRICE_BUCKET_BOUNDS.length + 1];
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        clear();
+        Long lastId = 0L;
+        while (lastId != null) {
+            Long afterId = lastId;
+            lastId = transactionTemplate.execute(status -> indexBatch(afterId));
+        }
+    }
+
+    public void index(BookResponseDto book) {
+        IndexedBook indexedBook = IndexedBook.of(book);
+        lock.writeLock().lock();
+        try {
+            IndexedBook previous = books.put(book.getId(), indexedBook);
+            removeFromPostings(previous);
+            countFacets(previous, -1);
+            countFacets(indexedBook, 1);
+            for (Map.Entry<Field, List<String>> entry : indexedBook.tokens().entrySet()) {
+                NavigableMap<String, Map<Long, Integer>> dictionary = postings
+                        .computeIfAbsent(entry.getKey(), field -> new TreeMap<>());
+                for (String token : entry.getValue()) {
+                    dictionary.computeIfAbsent(token, term -> new HashMap<>())
+                            .merge(book.getId(), 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedBook removed = books.remove(id);
+            removeFromPostings(removed);
+            countFacets(removed, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookResponseDto> search(Map<String, List<String>> params, Pageable pageable) {
+        return search(params, pageable, false).content();
+    }
+
+    public BookSearchResultDto search(Map<String, List<String>> params, Pageable pageable,
+                                      boolean includeFacets) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (Map.Entry<String, List<String>> entry : params.entrySet()) {
+                if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                    continue;
+                }
+                Set<Field> fields = Field.byParam(entry.getKey());
+                Map<Long, Double> clauseScores = new HashMap<>();
+                for (String value : entry.getValue()) {
+                    matchQuery(value, fields).forEach((id, score) ->
+                            clauseScores.merge(id, score, Math::max));
+                }
+                scores = scores == null ? clauseScores : intersect(scores, clauseScores);
+            }
+            if (scores == null) {
+                return new BookSearchResultDto(page(books.keySet(), pageable),
+                        includeFacets ? catalogFacets() : null);
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            return new BookSearchResultDto(
+                    page(ranked.stream().map(Map.Entry::getKey).toList(), pageable),
+                    includeFacets ? matchFacets(scores.keySet()) : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Long indexBatch(Long afterId) {
+        List<Book> batch = bookRepository.findAllByIdGreaterThanOrderByIdAsc(afterId,
+                PageRequest.of(0, REBUILD_BATCH_SIZE));
+        Map<Long, Set<Long>> categoryIds = bookRepository.findCategoryIdsByBookIds(
+                batch.stream().map(Book::getId).toList());
+        bookMapper.toDtos(batch, categoryIds).forEach(this::index);
+        return batch.size() < REBUILD_BATCH_SIZE ? null : batch.get(batch.size() - 1).getId();
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            postings.clear();
+            categoryCounts.clear();
+            authorCounts.clear();
+            Arrays.fill(priceCounts, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromPostings(IndexedBook indexedBook) {
+        if (indexedBook == null) {
+            return;
+        }
+        Long id = indexedBook.book().getId();
+        for (Map.Entry<Field, List<String>> entry : indexedBook.tokens().entrySet()) {
+            NavigableMap<String, Map<Long, Integer>> dictionary = postings.get(entry.getKey());
+            for (String token : entry.getValue()) {
+                Map<Long, Integer> posting = dictionary.get(token);
+                if (posting != null && posting.remove(id) != null && posting.isEmpty()) {
+                    dictionary.remove(token);
+                }
+            }
+        }
+    }
+
+    private void countFacets(IndexedBook indexedBook, int delta) {
+        if (indexedBook == null) {
+            return;
+        }
+        BookResponseDto book = indexedBook.book();
+        if (book.getCategoryIds() != null) {
+            for (Long categoryId : book.getCategoryIds()) {
+                addCount(categoryCounts, categoryId, delta);
+            }
+        }
+        if (book.getAuthor() != null) {
+            addCount(authorCounts, book.getAuthor(), delta);
+        }
+        if (book.getPrice() != null) {
+            priceCounts[priceBucket(book.getPrice())] += delta;
+        }
+    }
+
+    private BookFacetsDto catalogFacets() {
+        return new BookFacetsDto(new HashMap<>(categoryCounts), topAuthors(authorCounts),
+                priceFacets(priceCounts));
+    }
+
+    private BookFacetsDto matchFacets(Collection<Long> ids) {
+        Map<Long, Integer> categories = new HashMap<>();
+        Map<String, Integer> authors = new HashMap<>();
+        int[] prices = new int[priceCounts.length];
+        for (Long id : ids) {
+            BookResponseDto book = books.get(id).book();
+            if (book.getCategoryIds() != null) {
+                for (Long categoryId : book.getCategoryIds()) {
+                    categories.merge(categoryId, 1, Integer::sum);
+                }
+            }
+            if (book.getAuthor() != null) {
+                authors.merge(book.getAuthor(), 1, Integer::sum);
+            }
+            if (book.getPrice() != null) {
+                prices[priceBucket(book.getPrice())]++;
+            }
+        }
+        return new BookFacetsDto(categories, topAuthors(authors), priceFacets(prices));
+    }
+
+    private Map<Long, Double> matchQuery(String query, Set<Field> fields) {
+        Map<Long, Double> scores = null;
+        for (SearchTokenizer.QueryUnit unit : SearchTokenizer.parseQuery(query)) {
+            Map<Long, Double> unitScores = unit.phrase()
+                    ? matchPhrase(unit.tokens(), fields)
+                    : matchTerm(unit.tokens().get(0), fields);
+            scores = scores == null ? unitScores : intersect(scores, unitScores);
+        }
+        Map<Long, Double> result = scores == null ? new HashMap<>() : scores;
+        if (fields.contains(Field.ISBN)) {
+            String isbn = SearchTokenizer.compact(query);
+            if (!isbn.isEmpty()) {
+                matchInField(isbn, Field.ISBN, true).forEach((id, score) ->
+                        result.merge(id, score, Math::max));
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, Double> matchTerm(String term, Set<Field> fields) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Field field : fields) {
+            if (field != Field.ISBN) {
+                matchInField(term, field, term.length() >= MIN_PREFIX_LENGTH)
+                        .forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> matchInField(String term, Field field, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> dictionary = postings.get(field);
+        if (dictionary == null) {
+            return scores;
+        }
+        Map<String, Map<Long, Integer>> matches = prefix
+                ? dictionary.subMap(term, true, term + Character.MAX_VALUE, false)
+                : exactMatch(dictionary, term);
+        for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+            double weight = field.boost * idf(match.getValue().size())
+                    * (match.getKey().equals(term) ? 1.0 : PREFIX_WEIGHT);
+            match.getValue().forEach((id, frequency) ->
+                    scores.merge(id, weight * (1 + Math.log(frequency)), Math::max));
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> matchPhrase(List<String> terms, Set<Field> fields) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Field field : fields) {
+            NavigableMap<String, Map<Long, Integer>> dictionary = postings.get(field);
+            if (field == Field.ISBN || dictionary == null) {
+                continue;
+            }
+            List<Map<Long, Integer>> termPostings = new ArrayList<>();
+            for (String term : terms) {
+                termPostings.add(dictionary.getOrDefault(term, Collections.emptyMap()));
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            double weight = PHRASE_WEIGHT * field.boost * termPostings.stream()
+                    .mapToDouble(posting -> idf(posting.size()))
+                    .sum();
+            for (Long id : termPostings.get(0).keySet()) {
+                if (termPostings.stream().allMatch(posting -> posting.containsKey(id))
+                        && containsPhrase(books.get(id).tokens().get(field), terms)) {
+                    scores.merge(id, weight, Double::sum);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (double) books.size() / documentFrequency);
+    }
+
+    private List<BookResponseDto> page(Collection<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return ids.stream().map(id -> books.get(id).book()).toList();
+        }
+        return ids.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(id -> books.get(id).book())
+                .toList();
+    }
+
+    private static <K> void addCount(Map<K, Integer> counts, K key, int delta) {
+        counts.compute(key, (k, count) -> {
+            int value = (count == null ? 0 : count) + delta;
+            return value == 0 ? null : value;
+        });
+    }
+
+    private static Map<String, Integer> topAuthors(Map<String, Integer> counts) {
+        Comparator<Map.Entry<String, Integer>> byCount =
+                Map.Entry.<String, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(byCount);
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (top.size() < MAX_AUTHOR_FACETS) {
+                top.add(entry);
+            } else if (byCount.compare(entry, top.peek()) > 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(byCount.reversed());
+        Map<String, Integer> authors = new LinkedHashMap<>();
+        ranked.forEach(entry -> authors.put(entry.getKey(), entry.getValue()));
+        return authors;
+    }
+
+    private static Map<String, Integer> priceFacets(int[] counts) {
+        Map<String, Integer> prices = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            String label = bucket == PRICE_BUCKET_BOUNDS.length
+                    ? bound(bucket - 1) + "+"
+                    : (bucket == 0 ? "0" : bound(bucket - 1)) + "-" + bound(bucket);
+            prices.put(label, counts[bucket]);
+        }
+        return prices;
+    }
+
+    private static String bound(int index) {
+        return String.valueOf((long) PRICE_BUCKET_BOUNDS[index]);
+    }
+
+    private static int priceBucket(double price) {
+        int bucket = 0;
+        while (bucket < PRICE_BUCKET_BOUNDS.length && price >= PRICE_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static Map<String, Map<Long, Integer>> exactMatch(
+            NavigableMap<String, Map<Long, Integer>> dictionary, String term) {
+        Map<Long, Integer> posting = dictionary.get(term);
+        return posting == null ? Collections.emptyMap() : Map.of(term, posting);
+    }
+
+    private static boolean containsPhrase(List<String> tokens, List<String> phrase) {
+        if (tokens == null) {
+            return false;
+        }
+        return Collections.indexOfSubList(tokens, phrase) >= 0;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Double other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private enum Field {
+        TITLE("title", 3.0, BookResponseDto::getTitle),
+        AUTHOR("author", 2.0, BookResponseDto::getAuthor),
+        ISBN("isbn", 4.0, BookResponseDto::getIsbn),
+        DESCRIPTION("description", 1.0, BookResponseDto::getDescription);
+
+        private final String param;
+        private final double boost;
+        private final Function<BookResponseDto, String> extractor;
+
+        Field(String param, double boost, Function<BookResponseDto, String> extractor) {
+            this.param = param;
+            this.boost = boost;
+            this.extractor = extractor;
+        }
+
+        private static Set<Field> byParam(String param) {
+            if (QUERY_PARAM.equals(param)) {
+                return EnumSet.allOf(Field.class);
+            }
+            for (Field field : values()) {
+                if (field.param.equals(param)) {
+                    return EnumSet.of(field);
+                }
+            }
+            throw new IllegalArgumentException("Unsupported search parameter: " + param);
+        }
+
+        private List<String> tokenize(BookResponseDto book) {
+            String value = extractor.apply(book);
+            if (this == ISBN) {
+                String isbn = SearchTokenizer.compact(value);
+                return isbn.isEmpty() ? List.of() : List.of(isbn);
+            }
+            return SearchTokenizer.tokenize(value);
+        }
+    }
+
+    private record IndexedBook(BookResponseDto book, Map<Field, List<String>> tokens) {
+        private static IndexedBook of(BookResponseDto book) {
+            Map<Field, List<String>> tokens = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                tokens.put(field, field.tokenize(book));
+            }
+            return new IndexedBook(book, tokens);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package book.store.search;
+
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.book.BookSuggestionDto;
+import book.store.model.Book;
+import book.store.repository.BookRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+public class BookSuggestionIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingInt(Suggestion::getWeight).reversed()
+                    .thenComparing(Suggestion::getText);
+    private final BookRepository bookRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Map<Long, List<Suggestion>> bookSuggestions = new HashMap<>();
+    private Node root = new Node();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            suggestions.clear();
+            bookSuggestions.clear();
+            Long lastId = 0L;
+            while (lastId != null) {
+                Long afterId = lastId;
+                lastId = transactionTemplate.execute(status -> indexBatch(afterId));
+            }
+            collectTop(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(BookResponseDto book) {
+        lock.writeLock().lock();
+        try {
+            Set<Suggestion> changed = new LinkedHashSet<>(removeBook(book.getId()));
+            changed.addAll(addBook(book.getId(), book.getTitle(), book.getAuthor()));
+            changed.forEach(this::updatePaths);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeBook(id).forEach(this::updatePaths);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        String key = truncate(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .filter(suggestion -> key.equals(prefix)
+                            || suggestion.getKey().contains(prefix))
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(suggestion -> new BookSuggestionDto(suggestion.getText(),
+                            suggestion.getType(), suggestion.getWeight()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Long indexBatch(Long afterId) {
+        List<Book> batch = bookRepository.findAllByIdGreaterThanOrderByIdAsc(afterId,
+                PageRequest.of(0, REBUILD_BATCH_SIZE));
+        for (Book book : batch) {
+            addBook(book.getId(), book.getTitle(), book.getAuthor());
+        }
+        return batch.size() < REBUILD_BATCH_SIZE ? null : batch.get(batch.size() - 1).getId();
+    }
+
+    private List<Suggestion> addBook(Long id, String title, String author) {
+        List<Suggestion> added = new ArrayList<>();
+        addSuggestion(added, BookSuggestionDto.Type.TITLE, title);
+        addSuggestion(added, BookSuggestionDto.Type.AUTHOR, author);
+        bookSuggestions.put(id, added);
+        return added;
+    }
+
+    private void addSuggestion(List<Suggestion> added, BookSuggestionDto.Type type,
+                               String text) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.computeIfAbsent(type + ":" + key, id -> {
+            Suggestion created = new Suggestion(type, text, key);
+            for (String suffix : suffixes(key)) {
+                node(suffix).terminals.add(created);
+            }
+            return created;
+        });
+        suggestion.weight++;
+        added.add(suggestion);
+    }
+
+    private List<Suggestion> removeBook(Long id) {
+        List<Suggestion> removed = bookSuggestions.remove(id);
+        if (removed == null) {
+            return List.of();
+        }
+        for (Suggestion suggestion : removed) {
+            if (--suggestion.weight == 0) {
+                suggestions.remove(suggestion.getType() + ":" + suggestion.getKey());
+                for (String suffix : suffixes(suggestion.getKey())) {
+                    node(suffix).terminals.remove(suggestion);
+                }
+            }
+        }
+        return removed;
+    }
+
+    private void updatePaths(Suggestion suggestion) {
+        for (String suffix : suffixes(suggestion.getKey())) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < suffix.length(); i++) {
+                node = node.children.get(suffix.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                path.add(node);
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                if (i > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(suffix.charAt(i - 1));
+                } else {
+                    current.top = mergeTop(current);
+                }
+            }
+        }
+    }
+
+    private void collectTop(Node node) {
+        node.children.values().forEach(this::collectTop);
+        node.top = mergeTop(node);
+    }
+
+    private Node node(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), character -> new Node());
+        }
+        return node;
+    }
+
+    private static List<Suggestion> mergeTop(Node node) {
+        Set<Suggestion> candidates = new LinkedHashSet<>(node.terminals);
+        node.children.values().forEach(child -> candidates.addAll(child.top));
+        return candidates.stream()
+                .sorted(BY_WEIGHT)
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+    }
+
+    private static Set<String> suffixes(String key) {
+        Set<String> suffixes = new LinkedHashSet<>();
+        suffixes.add(truncate(key));
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            suffixes.add(truncate(key.substring(i + 1)));
+        }
+        return suffixes;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Suggestion> terminals = new LinkedHashSet<>();
+        private List<Suggestion> top = List.of();
+    }
+
+    private static class Suggestion {
+        private final BookSuggestionDto.Type type;
+        private final String text;
+        private final String key;
+        private int weight;
+
+        private Suggestion(BookSuggestionDto.Type type, String text, String key) {
+            this.type = type;
+            this.text = text;
+            this.key = key;
+        }
+
+        private BookSuggestionDto.Type getType() {
+            return type;
+        }
+
+        private String getText() {
+            return text;
+        }
+
+        private String getKey() {
+            return key;
+        }
+
+        private int getWeight() {
+            return weight;
+        }
+    }
+}
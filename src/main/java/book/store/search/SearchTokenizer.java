@@ -0,0 +1,65 @@
+package book.store.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class SearchTokenizer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"");
+
+    private SearchTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static String compact(String text) {
+        return SEPARATORS.matcher(normalize(text)).replaceAll("");
+    }
+
+    public static List<QueryUnit> parseQuery(String query) {
+        List<QueryUnit> units = new ArrayList<>();
+        if (query == null) {
+            return units;
+        }
+        Matcher matcher = PHRASE.matcher(query);
+        StringBuilder rest = new StringBuilder();
+        int last = 0;
+        while (matcher.find()) {
+            rest.append(query, last, matcher.start()).append(' ');
+            List<String> phrase = tokenize(matcher.group(1));
+            if (!phrase.isEmpty()) {
+                units.add(new QueryUnit(phrase, true));
+            }
+            last = matcher.end();
+        }
+        rest.append(query.substring(last));
+        for (String token : tokenize(rest.toString())) {
+            units.add(new QueryUnit(List.of(token), false));
+        }
+        return units;
+    }
+
+    public record QueryUnit(List<String> tokens, boolean phrase) {
+    }
+}
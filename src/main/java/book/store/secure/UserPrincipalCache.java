@@ -0,0 +1,30 @@
+package book.store.secure;
+
+import book.store.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class UserPrincipalCache {
+    private final UserDetailsService userDetailsService;
+
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS_CACHE, sync = true)
+    public UserDetails load(String username) {
+        UserDetails user = userDetailsService.loadUserByUsername(username);
+        return User.withUsername(user.getUsername())
+                .password("")
+                .authorities(user.getAuthorities())
+                .disabled(!user.isEnabled())
+                .build();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRINCIPALS_CACHE)
+    public void evict(String username) {
+    }
+}
@@ -0,0 +1,32 @@
+package book.store.secure;
+
+import book.store.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+@Component
+public class UserPrincipalEvictionListener {
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String email = user.getEmail();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userPrincipalCache.getObject().evict(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userPrincipalCache.getObject().evict(email);
+            }
+        });
+    }
+}
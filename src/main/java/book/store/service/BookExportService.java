@@ -0,0 +1,9 @@
+package book.store.service;
+
+import book.store.catalog.CatalogFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportBooks(OutputStream outputStream, CatalogFormat format) throws IOException;
+}
@@ -0,0 +1,11 @@
+package book.store.service;
+
+import book.store.catalog.CatalogFormat;
+import book.store.dto.book.BookImportResultDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream inputStream, CatalogFormat format)
+            throws IOException;
+}
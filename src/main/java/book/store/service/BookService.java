@@ -3,7 +3,11 @@ package book.store.service;
 import book.store.dto.book.BookRequestDto;
 import book.store.dto.book.BookResponseDto;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
 import book.store.dto.book.BookWithoutCategoryResponseDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.dto.page.ResourceVersionDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -12,13 +16,27 @@ public interface BookService {
 
     List<BookResponseDto> findAll(Pageable pageable);
 
+    CursorPageDto<BookResponseDto> findAll(String after, Pageable pageable);
+
+    ResourceVersionDto getPageVersion(String after, Pageable pageable);
+
     BookResponseDto getById(Long id);
 
     BookResponseDto update(Long id, BookRequestDto requestDto);
 
     void deleteById(Long id);
 
-    List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto);
+    List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto,
+                                      Pageable pageable);
+
+    BookSearchResultDto searchBooks(BookSearchParametersDto bookSearchParametersDto,
+                                    Pageable pageable, boolean includeFacets);
+
+    List<BookSuggestionDto> suggest(String query, int limit);
 
     List<BookWithoutCategoryResponseDto> findAllByCategoryId(Long categoryId, Pageable pageable);
+
+    CursorPageDto<BookWithoutCategoryResponseDto> findAllByCategoryId(Long categoryId,
+                                                                      String after,
+                                                                      Pageable pageable);
 }
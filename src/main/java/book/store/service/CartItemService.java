@@ -1,15 +1,22 @@
 package book.store.service;
 
+import book.store.dto.cart.CartBatchRequestDto;
+import book.store.dto.cart.CartDeltaDto;
 import book.store.dto.cart.CartItemCreateRequestDto;
 import book.store.dto.cart.CartItemResponseDto;
 import book.store.dto.cart.CartItemUpdateRequestDto;
 
 public interface CartItemService {
-    void create(String username, CartItemCreateRequestDto requestDto);
+    CartDeltaDto create(String username, CartItemCreateRequestDto requestDto, Long knownVersion);
 
     CartItemResponseDto getById(Long id);
 
-    void update(Long cartItemId, CartItemUpdateRequestDto requestDto);
+    CartDeltaDto update(String username, Long cartItemId, CartItemUpdateRequestDto requestDto,
+                        Long knownVersion);
 
-    void deleteById(Long id);
+    void deleteById(String username, Long id);
+
+    CartDeltaDto deleteById(String username, Long id, Long knownVersion);
+
+    CartDeltaDto applyBatch(String username, CartBatchRequestDto requestDto, Long knownVersion);
 }
@@ -2,12 +2,15 @@ package book.store.service;
 
 import book.store.dto.category.CategoryRequestDto;
 import book.store.dto.category.CategoryResponseDto;
+import book.store.dto.page.ResourceVersionDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface CategoryService {
     List<CategoryResponseDto> findAll(Pageable pageable);
 
+    ResourceVersionDto getPageVersion(Pageable pageable);
+
     CategoryResponseDto getById(Long id);
 
     CategoryResponseDto save(CategoryRequestDto categoryDto);
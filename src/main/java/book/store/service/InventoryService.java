@@ -0,0 +1,15 @@
+package book.store.service;
+
+import book.store.dto.inventory.InventoryRequestDto;
+import book.store.dto.inventory.InventoryResponseDto;
+import java.util.Map;
+
+public interface InventoryService {
+    InventoryResponseDto getByBookId(Long bookId);
+
+    InventoryResponseDto setQuantity(Long bookId, InventoryRequestDto requestDto);
+
+    void reserve(Map<Long, Integer> quantities);
+
+    void release(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,10 @@
+package book.store.service;
+
+import book.store.dto.order.OrderCommandResponseDto;
+import book.store.dto.order.ShippingAdressRequestDto;
+
+public interface OrderCommandService {
+    OrderCommandResponseDto enqueue(String username, ShippingAdressRequestDto requestDto);
+
+    OrderCommandResponseDto getByIdAndUserEmail(Long id, String username);
+}
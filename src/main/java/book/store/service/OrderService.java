@@ -4,12 +4,15 @@ import book.store.dto.order.OrderItemResponseDto;
 import book.store.dto.order.OrderResponseDto;
 import book.store.dto.order.ShippingAdressRequestDto;
 import book.store.dto.order.UpdatedStatusRequestDto;
+import book.store.dto.page.CursorPageDto;
 import java.util.Set;
+import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
     OrderResponseDto createOrder(String username, ShippingAdressRequestDto requestDto);
 
-    Set<OrderResponseDto> getAllOrdersByUserEmail(String username);
+    CursorPageDto<OrderResponseDto> findAllByUserEmail(String username, String after,
+                                                       Pageable pageable, boolean includeItems);
 
     OrderResponseDto updateOrderStatus(Long orderId, UpdatedStatusRequestDto requestDto);
 
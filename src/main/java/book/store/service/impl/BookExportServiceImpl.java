@@ -0,0 +1,49 @@
+package book.store.service.impl;
+
+import book.store.catalog.BookRowWriter;
+import book.store.catalog.CatalogFormat;
+import book.store.catalog.CsvBookRowWriter;
+import book.store.catalog.NdjsonBookRowWriter;
+import book.store.mapper.BookMapper;
+import book.store.repository.BookExportRepository;
+import book.store.service.BookExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private final BookExportRepository bookExportRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportBooks(OutputStream outputStream, CatalogFormat format) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        BookRowWriter rowWriter = format == CatalogFormat.CSV
+                ? new CsvBookRowWriter(writer)
+                : new NdjsonBookRowWriter(writer, objectMapper);
+        try {
+            bookExportRepository.streamAll((book, categoryIds) -> {
+                try {
+                    rowWriter.write(bookMapper.toDto(book, Map.of(book.getId(), categoryIds)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.flush();
+    }
+}
@@ -0,0 +1,191 @@
+package book.store.service.impl;
+
+import book.store.catalog.BookRow;
+import book.store.catalog.BookRowReader;
+import book.store.catalog.CatalogFormat;
+import book.store.catalog.CsvBookRowReader;
+import book.store.catalog.NdjsonBookRowReader;
+import book.store.config.CacheConfig;
+import book.store.dto.book.BookImportErrorDto;
+import book.store.dto.book.BookImportResultDto;
+import book.store.dto.book.BookRequestDto;
+import book.store.dto.book.BookResponseDto;
+import book.store.event.CacheRegionChangedEvent;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.repository.BookImportRepository;
+import book.store.repository.CategoryRepository;
+import book.store.search.BookSearchIndex;
+import book.store.search.BookSuggestionIndex;
+import book.store.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private final BookImportRepository bookImportRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public BookImportServiceImpl(BookImportRepository bookImportRepository,
+                                 CategoryRepository categoryRepository,
+                                 BookMapper bookMapper,
+                                 BookSearchIndex bookSearchIndex,
+                                 BookSuggestionIndex bookSuggestionIndex,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${catalog.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${catalog.import.max-reported-errors:1000}")
+                                 int maxReportedErrors) {
+        this.bookImportRepository = bookImportRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookMapper = bookMapper;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BookImportResultDto importBooks(InputStream inputStream, CatalogFormat format)
+            throws IOException {
+        long start = System.nanoTime();
+        BookImportResultDto result = new BookImportResultDto();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        BookRowReader rowReader = format == CatalogFormat.CSV
+                ? new CsvBookRowReader(reader)
+                : new NdjsonBookRowReader(reader, objectMapper);
+        Set<Long> knownCategoryIds = new HashSet<>();
+        List<BookRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            for (BookRow row = rowReader.next(); row != null; row = rowReader.next()) {
+                result.setRows(result.getRows() + 1);
+                String error = row.error() == null ? validate(row.book()) : row.error();
+                if (error != null) {
+                    reject(result, row.line(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    write(chunk, knownCategoryIds, result);
+                    chunk.clear();
+                }
+            }
+            write(chunk, knownCategoryIds, result);
+        } finally {
+            if (result.getImported() > 0) {
+                evictCaches();
+            }
+        }
+        long durationNanos = System.nanoTime() - start;
+        return result.setDurationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .setRowsPerSecond(result.getRows() * 1e9 / Math.max(durationNanos, 1));
+    }
+
+    private void write(List<BookRow> chunk, Set<Long> knownCategoryIds,
+                       BookImportResultDto result) {
+        Set<Long> categoryIds = chunk.stream()
+                .flatMap(row -> row.book().getCategoryIds().stream())
+                .filter(categoryId -> !knownCategoryIds.contains(categoryId))
+                .collect(Collectors.toSet());
+        if (!categoryIds.isEmpty()) {
+            knownCategoryIds.addAll(categoryRepository.findAllIdsByIdIn(categoryIds));
+        }
+        List<BookRow> rows = new ArrayList<>(chunk.size());
+        for (BookRow row : chunk) {
+            Set<Long> unknown = new HashSet<>(row.book().getCategoryIds());
+            unknown.removeAll(knownCategoryIds);
+            if (unknown.isEmpty()) {
+                rows.add(row);
+            } else {
+                reject(result, row.line(), "Unknown category ids: " + unknown);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> bookImportRepository.upsertAll(
+                    rows.stream().map(BookRow::book).toList()));
+        } catch (DataAccessException e) {
+            String message = "Chunk was not saved: " + e.getMostSpecificCause().getMessage();
+            rows.forEach(row -> reject(result, row.line(), message));
+            return;
+        }
+        result.setImported(result.getImported() + rows.size());
+        for (BookRow row : rows) {
+            Book book = bookMapper.toModel(row.book());
+            book.setId(ids.get(row.book().getIsbn()));
+            BookResponseDto responseDto = bookMapper.toDto(book);
+            bookSearchIndex.index(responseDto);
+            bookSuggestionIndex.index(responseDto);
+        }
+    }
+
+    private String validate(BookRequestDto book) {
+        Set<ConstraintViolation<BookRequestDto>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void reject(BookImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new BookImportErrorDto().setLine(line).setMessage(message));
+        }
+    }
+
+    private void evictCaches() {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        eventPublisher.publishEvent(
+                new CacheRegionChangedEvent(CacheConfig.BOOK_CATEGORIES_REGION));
+    }
+}
@@ -1,79 +1,135 @@
 package book.store.service.impl;
 
+import book.store.config.CacheConfig;
 import book.store.dto.book.BookRequestDto;
 import book.store.dto.book.BookResponseDto;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSearchResultDto;
+import book.store.dto.book.BookSuggestionDto;
 import book.store.dto.book.BookWithoutCategoryResponseDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.dto.page.ResourceVersionDto;
+import book.store.event.CacheEntryChangedEvent;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
 import book.store.repository.BookRepository;
-import book.store.repository.SpecificationProvider;
+import book.store.repository.KeysetCursor;
+import book.store.repository.KeysetSpecificationProvider;
+import book.store.repository.VersionView;
+import book.store.search.BookSearchIndex;
+import book.store.search.BookSuggestionIndex;
 import book.store.service.BookService;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "title", "author", "price");
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
-    private final SpecificationProvider<Book> specificationProvider;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final KeysetSpecificationProvider<Book> keysetSpecificationProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookResponseDto save(BookRequestDto requestDto) {
         Book book = bookRepository.save(bookMapper.toModel(requestDto));
-        return bookMapper.toDto(book);
+        BookResponseDto responseDto = bookMapper.toDto(book);
+        bookSearchIndex.index(responseDto);
+        bookSuggestionIndex.index(responseDto);
+        return responseDto;
     }
 
     @Override
     public List<BookResponseDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(bookRepository.findAllBy(pageable));
     }
 
     @Override
+    public CursorPageDto<BookResponseDto> findAll(String after, Pageable pageable) {
+        if (after == null && !isKeysetPage(pageable)) {
+            return toCursorPage(findAll(pageable), pageable);
+        }
+        return findPageAfter(null, after, pageable, this::toDtos);
+    }
+
+    @Override
+    public ResourceVersionDto getPageVersion(String after, Pageable pageable) {
+        if (after == null && !isKeysetPage(pageable)) {
+            return ResourceVersionDto.of(bookRepository.findAllVersionsBy(pageable));
+        }
+        Sort sort = keysetSort(after, pageable);
+        List<VersionView> versions = bookRepository.findBy(keysetSpecification(null, after),
+                query -> query.as(VersionView.class)
+                        .sortBy(sort)
+                        .limit(pageable.getPageSize())
+                        .all());
+        return ResourceVersionDto.of(versions);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, sync = true)
     public BookResponseDto getById(Long id) {
-        return bookMapper.toDto(bookRepository.getReferenceById(id));
+        return bookMapper.toDto(bookRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("The book with id " + id + " does not exist")));
     }
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookResponseDto update(Long id, BookRequestDto requestDto) {
-        if (bookRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("The book with id " + id + " does not exist");
-        }
-        Book book = bookMapper.toModel(requestDto);
-        book.setId(id);
-        return bookMapper.toDto(bookRepository.save(book));
+        bookRepository.incrementVersion(id);
+        Book book = bookRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("The book with id " + id + " does not exist"));
+        bookMapper.updateModel(requestDto, book);
+        BookResponseDto responseDto = bookMapper.toDto(bookRepository.saveAndFlush(book));
+        bookSearchIndex.index(responseDto);
+        bookSuggestionIndex.index(responseDto);
+        eventPublisher.publishEvent(
+                new CacheEntryChangedEvent(CacheConfig.BOOK_CATEGORIES_REGION, id));
+        return responseDto;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE)
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+        bookSuggestionIndex.remove(id);
+        eventPublisher.publishEvent(
+                new CacheEntryChangedEvent(CacheConfig.BOOK_CATEGORIES_REGION, id));
     }
 
     @Override
-    public List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto) {
-        Map<String, List<String>> params = bookSearchParametersDto.getParams();
-
-        Specification<Book> specification = null;
-        for (Map.Entry<String, List<String>> entry : params.entrySet()) {
-            if (entry.getValue() != null) {
-                Specification<Book> sp = specificationProvider
-                        .getSpecification(entry.getValue(), entry.getKey());
-                specification = specification == null
-                        ? Specification.where(sp) : specification.and(sp);
-            }
-        }
-        return bookRepository.findAll(specification).stream()
-                .map(bookMapper::toDto)
-                .toList();
+    public List<BookResponseDto> searchBooks(BookSearchParametersDto bookSearchParametersDto,
+                                             Pageable pageable) {
+        return bookSearchIndex.search(bookSearchParametersDto.getParams(), pageable);
+    }
+
+    @Override
+    public BookSearchResultDto searchBooks(BookSearchParametersDto bookSearchParametersDto,
+                                           Pageable pageable, boolean includeFacets) {
+        return bookSearchIndex.search(bookSearchParametersDto.getParams(), pageable,
+                includeFacets);
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String query, int limit) {
+        return bookSuggestionIndex.suggest(query, limit);
     }
 
     @Override
@@ -83,4 +139,74 @@ public class BookServiceImpl implements BookService {
                 .map(bookMapper::toDtoWithoutCategories)
                 .toList();
     }
+
+    @Override
+    public CursorPageDto<BookWithoutCategoryResponseDto> findAllByCategoryId(Long categoryId,
+                                                                             String after,
+                                                                             Pageable pageable) {
+        if (after == null && !isKeysetPage(pageable)) {
+            return toCursorPage(findAllByCategoryId(categoryId, pageable), pageable);
+        }
+        return findPageAfter(hasCategory(categoryId), after, pageable, books -> books.stream()
+                .map(bookMapper::toDtoWithoutCategories)
+                .toList());
+    }
+
+    private <T> CursorPageDto<T> findPageAfter(Specification<Book> filter, String after,
+                                               Pageable pageable,
+                                               Function<List<Book>, List<T>> mapper) {
+        Sort sort = keysetSort(after, pageable);
+        List<T> content = mapper.apply(bookRepository.findBy(keysetSpecification(filter, after),
+                query -> query
+                        .sortBy(sort)
+                        .limit(pageable.getPageSize())
+                        .all()));
+        return new CursorPageDto<>(content, nextCursor(content, pageable.getPageSize(),
+                sort.iterator().next()));
+    }
+
+    private Specification<Book> keysetSpecification(Specification<Book> filter, String after) {
+        Specification<Book> specification = Specification.where(filter);
+        if (after == null) {
+            return specification;
+        }
+        KeysetCursor cursor = KeysetCursor.decode(after, KEYSET_PROPERTIES);
+        return specification.and(keysetSpecificationProvider.getSpecification(cursor));
+    }
+
+    private Sort keysetSort(String after, Pageable pageable) {
+        return after == null
+                ? KeysetCursor.sortOf(KeysetCursor.orderOf(pageable, KEYSET_PROPERTIES))
+                : KeysetCursor.decode(after, KEYSET_PROPERTIES).sort();
+    }
+
+    private List<BookResponseDto> toDtos(List<Book> books) {
+        return bookMapper.toDtos(books, bookRepository.findCategoryIdsByBookIds(
+                books.stream().map(Book::getId).toList()));
+    }
+
+    private <T> CursorPageDto<T> toCursorPage(List<T> content, Pageable pageable) {
+        if (pageable.isUnpaged() || !KeysetCursor.supports(pageable, KEYSET_PROPERTIES)) {
+            return new CursorPageDto<>(content, null);
+        }
+        Sort.Order order = KeysetCursor.orderOf(pageable, KEYSET_PROPERTIES);
+        return new CursorPageDto<>(content, nextCursor(content, pageable.getPageSize(), order));
+    }
+
+    private String nextCursor(List<?> content, int pageSize, Sort.Order order) {
+        if (content.size() < pageSize) {
+            return null;
+        }
+        return KeysetCursor.of(content.get(content.size() - 1), order).encode();
+    }
+
+    private boolean isKeysetPage(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageNumber() == 0
+                && KeysetCursor.supports(pageable, KEYSET_PROPERTIES);
+    }
+
+    private static Specification<Book> hasCategory(Long categoryId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("categories").get("id"), categoryId);
+    }
 }
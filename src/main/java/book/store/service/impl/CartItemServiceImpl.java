@@ -1,43 +1,63 @@
 package book.store.service.impl;
 
+import book.store.cart.CartStore;
+import book.store.dto.cart.CartBatchRequestDto;
+import book.store.dto.cart.CartDeltaDto;
+import book.store.dto.cart.CartItemBatchUpdateDto;
 import book.store.dto.cart.CartItemCreateRequestDto;
 import book.store.dto.cart.CartItemResponseDto;
 import book.store.dto.cart.CartItemUpdateRequestDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CartItemMapper;
+import book.store.mapper.ShoppingCartMapper;
+import book.store.model.Book;
 import book.store.model.CartItem;
 import book.store.model.ShoppingCart;
 import book.store.repository.BookRepository;
+import book.store.repository.CartItemIds;
 import book.store.repository.CartItemRepository;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.CartSummary;
 import book.store.repository.ShoppingCartRepository;
 import book.store.service.CartItemService;
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class CartItemServiceImpl implements CartItemService {
     private final CartItemRepository cartItemRepository;
-    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemWriteRepository cartItemWriteRepository;
     private final BookRepository bookRepository;
+    private final ShoppingCartRepository shoppingCartRepository;
     private final CartItemMapper cartItemMapper;
+    private final ShoppingCartMapper shoppingCartMapper;
+    private final CartStore cartStore;
 
     @Override
-    public void create(String username, CartItemCreateRequestDto requestDto) {
-        Optional<CartItem> cartItemOptional = isBookPresentInShoppingCart(username, requestDto);
-        if (cartItemOptional.isEmpty()) {
-            CartItem cartItem = cartItemMapper.toModel(requestDto);
-            cartItem.setBook(bookRepository.getReferenceById(cartItem.getBook().getId()));
-            ShoppingCart shoppingCart =
-                    shoppingCartRepository.findShoppingCartByUserEmail(username);
-            cartItem.setShoppingCart(shoppingCart);
-            CartItem savedCartItem = cartItemRepository.save(cartItem);
-            shoppingCart.getCartItems().add(savedCartItem);
-            shoppingCartRepository.save(shoppingCart);
-        } else {
-            updateQuantityIfBookIsPresentInShoppingCart(cartItemOptional.get(), requestDto);
+    @Transactional
+    public CartDeltaDto create(String username, CartItemCreateRequestDto requestDto,
+                               Long knownVersion) {
+        if (cartStore.isEnabled()) {
+            return cartStore.add(username, requestDto.getBookId(), requestDto.getQuantity(),
+                    knownVersion);
         }
+        incrementVersion(username);
+        cartItemWriteRepository.upsert(username, requestDto.getBookId(),
+                requestDto.getQuantity());
+        return getDelta(username, knownVersion, List.of(), List.of(requestDto.getBookId()),
+                List.of());
     }
 
     @Override
@@ -46,30 +66,136 @@ public class CartItemServiceImpl implements CartItemService {
     }
 
     @Override
-    public void update(Long cartItemId, CartItemUpdateRequestDto requestDto) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId).orElseThrow(
-                () -> new EntityNotFoundException("Can`t find cart item with id " + cartItemId));
-        cartItem.setQuantity(requestDto.getQuantity());
-        cartItemRepository.save(cartItem);
+    @Transactional
+    public CartDeltaDto update(String username, Long cartItemId,
+                               CartItemUpdateRequestDto requestDto, Long knownVersion) {
+        if (cartStore.isEnabled()) {
+            return cartStore.update(username, cartItemId, requestDto.getQuantity(),
+                    knownVersion);
+        }
+        incrementVersion(username);
+        if (cartItemWriteRepository.updateQuantity(username, cartItemId,
+                requestDto.getQuantity()) == 0) {
+            throw new EntityNotFoundException("Can`t find cart item with id " + cartItemId);
+        }
+        return getDelta(username, knownVersion, List.of(cartItemId), List.of(), List.of());
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(String username, Long id) {
+        if (cartStore.isEnabled()) {
+            cartStore.remove(username, id, null);
+            return;
+        }
+        delete(username, id);
+    }
+
+    @Override
+    @Transactional
+    public CartDeltaDto deleteById(String username, Long id, Long knownVersion) {
+        if (cartStore.isEnabled()) {
+            return cartStore.remove(username, id, knownVersion);
+        }
+        delete(username, id);
+        return getDelta(username, knownVersion, List.of(), List.of(), List.of(id));
     }
 
     @Override
-    public void deleteById(Long id) {
-        cartItemRepository.deleteById(id);
+    @Transactional
+    public CartDeltaDto applyBatch(String username, CartBatchRequestDto requestDto,
+                                   Long knownVersion) {
+        Map<Long, Integer> additions = new LinkedHashMap<>();
+        for (CartItemCreateRequestDto item : requestDto.getAdd()) {
+            additions.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItemBatchUpdateDto item : requestDto.getUpdate()) {
+            quantities.put(item.getCartItemId(), item.getQuantity());
+        }
+        Set<Long> removedIds = new HashSet<>(requestDto.getRemove());
+        Map<Long, Book> books = getBooks(additions.keySet());
+        if (cartStore.isEnabled()) {
+            return cartStore.applyBatch(username, additions, quantities, removedIds, books,
+                    knownVersion);
+        }
+        incrementVersion(username);
+        CartItemIds cartItemIds = cartItemWriteRepository.findCartItemIds(username).orElseThrow(
+                () -> new EntityNotFoundException("Can`t find shopping cart of user " + username));
+        checkCartItems(cartItemIds, quantities.keySet());
+        checkCartItems(cartItemIds, removedIds);
+        cartItemWriteRepository.updateQuantities(quantities);
+        cartItemWriteRepository.deleteAll(removedIds);
+        cartItemWriteRepository.upsertAll(cartItemIds.cartId(), additions);
+        return getDelta(username, knownVersion, quantities.keySet(), additions.keySet(),
+                removedIds);
     }
 
-    private Optional<CartItem> isBookPresentInShoppingCart(String username,
-                                                           CartItemCreateRequestDto requestDto) {
-        ShoppingCart shoppingCart = shoppingCartRepository.findShoppingCartByUserEmail(username);
-        return shoppingCart.getCartItems().stream()
-                .filter(cartItem -> cartItem.getBook().getId().equals(requestDto.getBookId()))
-                .findFirst();
+    private void delete(String username, Long id) {
+        incrementVersion(username);
+        if (cartItemWriteRepository.delete(username, id) == 0) {
+            throw new EntityNotFoundException("Can`t find cart item with id " + id);
+        }
     }
 
-    private void updateQuantityIfBookIsPresentInShoppingCart(CartItem cartItem,
-                                                             CartItemCreateRequestDto requestDto) {
-        int totalQuantity = cartItem.getQuantity() + requestDto.getQuantity();
-        cartItem.setQuantity(totalQuantity);
-        cartItemRepository.save(cartItem);
+    private void incrementVersion(String username) {
+        if (cartItemWriteRepository.incrementVersion(username) == 0) {
+            throw new EntityNotFoundException("Can`t find shopping cart of user " + username);
+        }
+    }
+
+    private CartDeltaDto getDelta(String username, Long knownVersion, Collection<Long> ids,
+                                  Collection<Long> bookIds, Collection<Long> removedIds) {
+        if (knownVersion == null) {
+            return getCart(username);
+        }
+        CartSummary summary = cartItemWriteRepository.findSummary(username).orElseThrow(
+                () -> new EntityNotFoundException("Can`t find shopping cart of user " + username));
+        if (knownVersion != summary.version() - 1) {
+            return getCart(username);
+        }
+        return new CartDeltaDto()
+                .setVersion(summary.version())
+                .setCartItems(cartItemWriteRepository.findLines(summary.cartId(), ids, bookIds))
+                .setRemovedCartItemIds(new ArrayList<>(removedIds))
+                .setItemCount(summary.itemCount())
+                .setTotalQuantity(summary.totalQuantity())
+                .setTotal(summary.total());
+    }
+
+    private CartDeltaDto getCart(String username) {
+        ShoppingCart shoppingCart = shoppingCartRepository.findWithCartItemsByUserEmail(username);
+        CartDeltaDto delta = new CartDeltaDto()
+                .setVersion(shoppingCart.getVersion())
+                .setCart(shoppingCartMapper.toDto(shoppingCart));
+        for (CartItem cartItem : shoppingCart.getCartItems()) {
+            delta.setItemCount(delta.getItemCount() + 1)
+                    .setTotalQuantity(delta.getTotalQuantity() + cartItem.getQuantity())
+                    .setTotal(delta.getTotal().add(cartItem.getBook().getPrice()
+                            .multiply(BigDecimal.valueOf(cartItem.getQuantity()))));
+        }
+        return delta;
+    }
+
+    private Map<Long, Book> getBooks(Set<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Book> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        if (books.size() < bookIds.size()) {
+            Set<Long> missingIds = new HashSet<>(bookIds);
+            missingIds.removeAll(books.keySet());
+            throw new EntityNotFoundException("Can`t find books with ids " + missingIds);
+        }
+        return books;
+    }
+
+    private void checkCartItems(CartItemIds cartItemIds, Collection<Long> ids) {
+        for (Long id : ids) {
+            if (!cartItemIds.itemIds().contains(id)) {
+                throw new EntityNotFoundException("Can`t find cart item with id " + id);
+            }
+        }
     }
 }
@@ -2,6 +2,8 @@ package book.store.service.impl;
 
 import book.store.dto.category.CategoryRequestDto;
 import book.store.dto.category.CategoryResponseDto;
+import book.store.dto.page.ResourceVersionDto;
+import book.store.event.CategoryChangedEvent;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
@@ -9,14 +11,17 @@ import book.store.repository.CategoryRepository;
 import book.store.service.CategoryService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<CategoryResponseDto> findAll(Pageable pageable) {
@@ -25,9 +30,15 @@ public class CategoryServiceImpl implements CategoryService {
                 .toList();
     }
 
+    @Override
+    public ResourceVersionDto getPageVersion(Pageable pageable) {
+        return ResourceVersionDto.of(categoryRepository.findAllVersionsBy(pageable));
+    }
+
     @Override
     public CategoryResponseDto getById(Long id) {
-        return categoryMapper.toDto(categoryRepository.getReferenceById(id));
+        return categoryMapper.toDto(categoryRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Can't find category by id: " + id)));
     }
 
     @Override
@@ -36,17 +47,20 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public CategoryResponseDto update(Long id, CategoryRequestDto categoryDto) {
-        if (categoryRepository.findById(id).isEmpty()) {
-            throw new EntityNotFoundException("Can't find category by id: " + id);
-        }
-        Category category = categoryMapper.toModel(categoryDto);
-        category.setId(id);
-        return categoryMapper.toDto(category);
+        categoryRepository.incrementVersion(id);
+        Category category = categoryRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Can't find category by id: " + id));
+        categoryMapper.updateModel(categoryDto, category);
+        Category savedCategory = categoryRepository.saveAndFlush(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return categoryMapper.toDto(savedCategory);
     }
 
     @Override
     public void deleteById(Long id) {
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
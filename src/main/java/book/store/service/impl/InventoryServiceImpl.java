@@ -0,0 +1,62 @@
+package book.store.service.impl;
+
+import book.store.dto.inventory.InventoryRequestDto;
+import book.store.dto.inventory.InventoryResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.OutOfStockException;
+import book.store.mapper.InventoryMapper;
+import book.store.model.Inventory;
+import book.store.repository.BookRepository;
+import book.store.repository.InventoryRepository;
+import book.store.service.InventoryService;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    private final InventoryRepository inventoryRepository;
+    private final BookRepository bookRepository;
+    private final InventoryMapper inventoryMapper;
+
+    @Override
+    public InventoryResponseDto getByBookId(Long bookId) {
+        return inventoryMapper.toDto(inventoryRepository.findById(bookId).orElseThrow(
+                () -> new EntityNotFoundException("Can`t find inventory for book with id "
+                        + bookId)));
+    }
+
+    @Override
+    public InventoryResponseDto setQuantity(Long bookId, InventoryRequestDto requestDto) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("The book with id " + bookId + " does not exist");
+        }
+        Inventory inventory = new Inventory()
+                .setBookId(bookId)
+                .setQuantity(requestDto.getQuantity());
+        return inventoryMapper.toDto(inventoryRepository.save(inventory));
+    }
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (inventoryRepository.decrementIfAvailable(entry.getKey(), entry.getValue()) == 0
+                    && inventoryRepository.existsById(entry.getKey())) {
+                throw new OutOfStockException("Not enough copies of the book with id "
+                        + entry.getKey() + " in stock");
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            inventoryRepository.increment(entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package book.store.service.impl;
+
+import book.store.cart.CartStore;
+import book.store.dto.order.OrderCommandResponseDto;
+import book.store.dto.order.ShippingAdressRequestDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.mapper.OrderCommandMapper;
+import book.store.model.OrderCommand;
+import book.store.queue.OrderQueue;
+import book.store.repository.CartItemRepository;
+import book.store.repository.OrderCommandRepository;
+import book.store.service.OrderCommandService;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class OrderCommandServiceImpl implements OrderCommandService {
+    private final OrderCommandRepository orderCommandRepository;
+    private final CartItemRepository cartItemRepository;
+    private final OrderCommandMapper orderCommandMapper;
+    private final OrderQueue orderQueue;
+    private final CartStore cartStore;
+    @Value("${orders.async.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public OrderCommandResponseDto enqueue(String username, ShippingAdressRequestDto requestDto) {
+        if (!enabled) {
+            throw new RuntimeException("Asynchronous order placement is disabled");
+        }
+        cartStore.flush(username);
+        if (!cartItemRepository.existsByShoppingCartUserEmail(username)) {
+            throw new RuntimeException("Your shopping cart is empty!");
+        }
+        orderQueue.offer();
+        OrderCommand orderCommand = new OrderCommand()
+                .setUserEmail(username)
+                .setShippingAddress(requestDto.getShippingAddress())
+                .setStatus(OrderCommand.Status.QUEUED)
+                .setCreatedAt(LocalDateTime.now());
+        return orderCommandMapper.toDto(orderCommandRepository.save(orderCommand));
+    }
+
+    @Override
+    public OrderCommandResponseDto getByIdAndUserEmail(Long id, String username) {
+        return orderCommandMapper.toDto(orderCommandRepository.findByIdAndUserEmail(id, username)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Can`t find order request with id " + id)));
+    }
+}
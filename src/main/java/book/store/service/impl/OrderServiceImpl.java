@@ -1,74 +1,145 @@
 package book.store.service.impl;
 
+import book.store.cart.CartStore;
 import book.store.dto.order.OrderItemResponseDto;
 import book.store.dto.order.OrderResponseDto;
 import book.store.dto.order.ShippingAdressRequestDto;
 import book.store.dto.order.UpdatedStatusRequestDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.OrderTotalExceededException;
 import book.store.mapper.OrderItemMapper;
 import book.store.mapper.OrderMapper;
-import book.store.model.CartItem;
 import book.store.model.Order;
 import book.store.model.OrderItem;
 import book.store.model.ShoppingCart;
 import book.store.model.User;
+import book.store.repository.BookRepository;
+import book.store.repository.CartCheckoutLine;
 import book.store.repository.CartItemRepository;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.KeysetCursor;
+import book.store.repository.KeysetSpecificationProvider;
 import book.store.repository.OrderItemRepository;
 import book.store.repository.OrderRepository;
 import book.store.repository.ShoppingCartRepository;
+import book.store.service.InventoryService;
 import book.store.service.OrderService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RequiredArgsConstructor
 @Service
 public class OrderServiceImpl implements OrderService {
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "orderDate", "total");
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("orderDate");
+    private static final int CENT_SCALE = 2;
+    private static final long MAX_TOTAL_CENTS = 9_999_999_999L;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartItemWriteRepository cartItemWriteRepository;
+    private final BookRepository bookRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final InventoryService inventoryService;
+    private final KeysetSpecificationProvider<Order> keysetSpecificationProvider;
+    private final CartStore cartStore;
 
     @Override
+    @Transactional
     public OrderResponseDto createOrder(String username, ShippingAdressRequestDto requestDto) {
+        cartStore.flush(username);
         ShoppingCart shoppingCart = shoppingCartRepository.findShoppingCartByUserEmail(username);
-        if (shoppingCart.getCartItems().isEmpty()) {
+        shoppingCartRepository.incrementVersion(shoppingCart.getId());
+        List<CartCheckoutLine> lines =
+                cartItemWriteRepository.findCheckoutLines(shoppingCart.getId());
+        if (lines.isEmpty()) {
             throw new RuntimeException("Your shopping cart is empty!");
         }
-        Order savedOrder = getOrderFromDb(shoppingCart.getUser(), requestDto);
-        Set<OrderItem> orderItems = new HashSet<>();
-        double total = 0;
-        for (CartItem cartItem : shoppingCart.getCartItems()) {
-            OrderItem orderItem = getOrderItemFromDb(cartItem, savedOrder);
-            orderItems.add(orderItem);
-            total += orderItem.getPrice().doubleValue() * orderItem.getQuantity();
-            cartItemRepository.delete(cartItem);
+        Order order = getOrder(shoppingCart.getUser(), requestDto);
+        List<OrderItem> orderItems = new ArrayList<>(lines.size());
+        long totalCents = 0;
+        for (CartCheckoutLine line : lines) {
+            orderItems.add(getOrderItem(line, order));
+            totalCents = Math.addExact(totalCents,
+                    Math.multiplyExact(toCents(line.price()), line.quantity()));
+            if (totalCents > MAX_TOTAL_CENTS) {
+                throw new OrderTotalExceededException("The order total can`t exceed "
+                        + BigDecimal.valueOf(MAX_TOTAL_CENTS, CENT_SCALE));
+            }
         }
-        shoppingCart.setCartItems(Collections.emptySet());
-        shoppingCartRepository.save(shoppingCart);
-
-        savedOrder.setTotal(BigDecimal.valueOf(total));
-        savedOrder.setOrderItems(orderItems);
-        return orderMapper.toDto(orderRepository.save(savedOrder));
+        order.setTotal(BigDecimal.valueOf(totalCents, CENT_SCALE));
+        Order savedOrder = orderRepository.save(order);
+        savedOrder.setOrderItems(new HashSet<>(orderItemRepository.saveAll(orderItems)));
+        cartItemRepository.deleteAllByShoppingCartId(shoppingCart.getId());
+        inventoryService.reserve(getQuantities(orderItems));
+        evictCartAfterCommit(username);
+        return orderMapper.toDto(savedOrder);
     }
 
     @Override
-    public Set<OrderResponseDto> getAllOrdersByUserEmail(String username) {
-        return orderRepository.findAllByUserEmail(username).stream()
+    public CursorPageDto<OrderResponseDto> findAllByUserEmail(String username, String after,
+                                                              Pageable pageable,
+                                                              boolean includeItems) {
+        Specification<Order> specification = hasUserEmail(username);
+        Sort.Order order = pageable.getSort().isSorted()
+                ? KeysetCursor.orderOf(pageable, KEYSET_PROPERTIES) : DEFAULT_ORDER;
+        Sort sort = KeysetCursor.sortOf(order);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        if (after != null) {
+            KeysetCursor cursor = KeysetCursor.decode(after, KEYSET_PROPERTIES);
+            specification = specification.and(keysetSpecificationProvider.getSpecification(cursor));
+            sort = cursor.sort();
+            offset = 0;
+        }
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<OrderResponseDto> content = orderRepository
+                .findSummaries(specification, sort, offset, limit).stream()
                 .map(orderMapper::toDto)
-                .collect(Collectors.toSet());
+                .toList();
+        if (includeItems) {
+            setOrderItems(content);
+        }
+        String nextCursor = content.isEmpty() || content.size() < limit ? null
+                : KeysetCursor.of(content.get(content.size() - 1), sort.iterator().next())
+                        .encode();
+        return new CursorPageDto<>(content, nextCursor);
     }
 
     @Override
+    @Transactional
     public OrderResponseDto updateOrderStatus(Long orderId, UpdatedStatusRequestDto requestDto) {
-        Order order = orderRepository.getReferenceById(orderId);
-        order.setStatus(Order.Status.valueOf(requestDto.getStatus()));
+        Order order = orderRepository.findForUpdateById(orderId).orElseThrow(
+                () -> new EntityNotFoundException("Can`t find order with id " + orderId));
+        Order.Status status = Order.Status.valueOf(requestDto.getStatus());
+        boolean wasCanceled = order.getStatus() == Order.Status.CANCELED;
+        boolean isCanceled = status == Order.Status.CANCELED;
+        if (isCanceled && !wasCanceled) {
+            inventoryService.release(getQuantities(
+                    orderItemRepository.findAllByOrderId(orderId)));
+        } else if (wasCanceled && !isCanceled) {
+            inventoryService.reserve(getQuantities(
+                    orderItemRepository.findAllByOrderId(orderId)));
+        }
+        order.setStatus(status);
         return orderMapper.toDto(orderRepository.save(order));
     }
 
@@ -91,22 +162,65 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private Order getOrderFromDb(User user, ShippingAdressRequestDto requestDto) {
+    private void setOrderItems(List<OrderResponseDto> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<OrderItemResponseDto>> orderItems = orderItemRepository
+                .findAllLinesByOrderIds(orders.stream().map(OrderResponseDto::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemRepository.OrderItemLine::getOrderId,
+                        Collectors.mapping(orderItemMapper::toDto, Collectors.toSet())));
+        for (OrderResponseDto order : orders) {
+            order.setOrderItems(orderItems.getOrDefault(order.getId(), new HashSet<>()));
+        }
+    }
+
+    private Order getOrder(User user, ShippingAdressRequestDto requestDto) {
         Order order = new Order();
         order.setUser(user);
         order.setStatus(Order.Status.PENDING);
         order.setOrderDate(LocalDateTime.now());
         order.setShippingAddress(requestDto.getShippingAddress());
-        order.setTotal(BigDecimal.ZERO);
-        return orderRepository.save(order);
+        return order;
     }
 
-    private OrderItem getOrderItemFromDb(CartItem cartItem, Order order) {
+    private void evictCartAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cartStore.evict(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cartStore.evict(username);
+            }
+        });
+    }
+
+    private static Specification<Order> hasUserEmail(String email) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("user").get("email"), email);
+    }
+
+    private Map<Long, Integer> getQuantities(Collection<OrderItem> orderItems) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem orderItem : orderItems) {
+            quantities.merge(orderItem.getBook().getId(), orderItem.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private OrderItem getOrderItem(CartCheckoutLine line, Order order) {
         OrderItem orderItem = new OrderItem();
-        orderItem.setBook(cartItem.getBook());
-        orderItem.setQuantity(cartItem.getQuantity());
-        orderItem.setPrice(cartItem.getBook().getPrice());
+        orderItem.setBook(bookRepository.getReferenceById(line.bookId()));
+        orderItem.setQuantity(line.quantity());
+        orderItem.setPrice(line.price());
         orderItem.setOrder(order);
-        return orderItemRepository.save(orderItem);
+        return orderItem;
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(CENT_SCALE).longValueExact();
     }
 }
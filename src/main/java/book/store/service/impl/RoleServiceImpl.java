@@ -1,20 +1,26 @@
 package book.store.service.impl;
 
+import book.store.config.CacheConfig;
+import book.store.event.CacheRegionChangedEvent;
 import book.store.model.Role;
 import book.store.repository.RoleRepository;
 import book.store.service.RoleService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Role save(Role role) {
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new CacheRegionChangedEvent(CacheConfig.ROLES_REGION));
+        return savedRole;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package book.store.service.impl;
 
+import book.store.cart.CartStore;
 import book.store.dto.cart.ShoppingCartResponseDto;
 import book.store.mapper.ShoppingCartMapper;
 import book.store.repository.ShoppingCartRepository;
@@ -12,10 +13,14 @@ import org.springframework.stereotype.Service;
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
+    private final CartStore cartStore;
 
     @Override
     public ShoppingCartResponseDto getShoppingCartByUserEmail(String username) {
+        if (cartStore.isEnabled()) {
+            return cartStore.get(username);
+        }
         return shoppingCartMapper.toDto(shoppingCartRepository
-                .findShoppingCartByUserEmail(username));
+                .findWithCartItemsByUserEmail(username));
     }
 }
@@ -0,0 +1,86 @@
+package book.store.benchmark;
+
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.book.BookWithoutCategoryResponseDto;
+import book.store.mapper.BookMapper;
+import book.store.mapper.impl.BookMapperImpl;
+import book.store.model.Book;
+import book.store.model.Category;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMapperBenchmark {
+    private static final int CATEGORIES = 5;
+    private static final int PAGE_SIZE = 20;
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private Book book;
+    private List<Book> page;
+    private Map<Long, Set<Long>> categoryIds;
+
+    @Setup
+    public void setUp() {
+        Set<Category> categories = new HashSet<>();
+        for (long id = 1; id <= CATEGORIES; id++) {
+            categories.add(new Category().setId(id).setName("Category " + id));
+        }
+        book = new Book()
+                .setId(1L)
+                .setTitle("Kobzar")
+                .setAuthor("Taras Shevchenko")
+                .setIsbn("978-966-03-4004-9")
+                .setPrice(BigDecimal.valueOf(249.99))
+                .setDescription("Collection of poems")
+                .setCoverImage("https://example.com/kobzar.jpg")
+                .setCategories(categories);
+        page = new ArrayList<>();
+        categoryIds = new HashMap<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(new Book()
+                    .setId(id)
+                    .setTitle("Kobzar " + id)
+                    .setAuthor("Taras Shevchenko")
+                    .setIsbn("978-966-03-4004-" + id)
+                    .setPrice(BigDecimal.valueOf(249.99))
+                    .setDescription("Collection of poems")
+                    .setCoverImage("https://example.com/kobzar.jpg"));
+            categoryIds.put(id, Set.of(id % CATEGORIES + 1));
+        }
+    }
+
+    @Benchmark
+    public BookResponseDto toDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public List<BookResponseDto> toDtosPage() {
+        return bookMapper.toDtos(page, categoryIds);
+    }
+
+    @Benchmark
+    public BookWithoutCategoryResponseDto toDtoWithoutCategories() {
+        return bookMapper.toDtoWithoutCategories(book);
+    }
+}
@@ -0,0 +1,139 @@
+package book.store.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class EndpointLoadRunner {
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private EndpointLoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url", "http://localhost:8082/api");
+        String email = required("load.email");
+        String password = required("load.password");
+        int concurrency = Integer.getInteger("load.concurrency", 400);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30L));
+        String[] endpoints = System.getProperty("load.endpoints", "/books,/orders").split(",");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(client, baseUrl, email, password);
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (String endpoint : endpoints) {
+            Result result = run(client, baseUrl + endpoint, token, concurrency, duration);
+            System.out.printf("%-10s %12d %10d %10.1f %10.2f %10.2f%n", endpoint,
+                    result.requests(), result.errors(),
+                    result.requests() / (double) duration.toSeconds(),
+                    result.percentile(0.50), result.percentile(0.99));
+        }
+    }
+
+    private static Result run(HttpClient client, String url, String token, int concurrency,
+                              Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() -> new Worker().run(client, request, deadline)));
+        }
+        long errors = 0;
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            errors += worker.errors;
+            latencies.add(Arrays.copyOf(worker.latencies, worker.count));
+        }
+        executor.shutdown();
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all.length, errors, all);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email,
+                                String password) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Can`t log in as " + email + ": "
+                    + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            throw new IllegalArgumentException("System property " + property + " is required");
+        }
+        return value;
+    }
+
+    private static class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker run(HttpClient client, HttpRequest request, long deadline) {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request,
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+            return this;
+        }
+    }
+
+    private record Result(long requests, long errors, long[] latencies) {
+        private double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
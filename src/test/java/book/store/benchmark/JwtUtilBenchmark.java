@@ -0,0 +1,93 @@
+package book.store.benchmark;
+
+import book.store.secure.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "qazwsxedcrfv123456789!@#$%^&*()_+";
+    private static final long EXPIRATION = 300000L;
+    private static final long CACHE_SIZE = 10000L;
+    private static final int COLD_TOKENS = 1 << 16;
+    private static final long COLD_CACHE_SIZE = 1L;
+    private Key key;
+    private JwtUtil jwtUtil;
+    private JwtUtil coldJwtUtil;
+    private String token;
+    private String[] coldTokens;
+    private int coldIndex;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION, CACHE_SIZE);
+        token = jwtUtil.generateToken("user@example.com");
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldTokens[i] = jwtUtil.generateToken("user" + i + "@example.com");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpColdCache() {
+        coldJwtUtil = new JwtUtil(SECRET, EXPIRATION, COLD_CACHE_SIZE);
+        coldIndex = 0;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user@example.com");
+    }
+
+    @Benchmark
+    public String parseTwice() {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        if (claims.getExpiration().before(new Date())) {
+            throw new JwtException("Expired or invalid JWT token");
+        }
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verifyColdCache() {
+        String coldToken = coldTokens[coldIndex++ & (COLD_TOKENS - 1)];
+        return coldJwtUtil.verify(coldToken).getSubject();
+    }
+
+    @Benchmark
+    public String verifyWarmCache() {
+        return jwtUtil.verify(token).getSubject();
+    }
+}
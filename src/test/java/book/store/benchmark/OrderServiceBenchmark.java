@@ -0,0 +1,103 @@
+package book.store.benchmark;
+
+import book.store.cart.CartStore;
+import book.store.dto.order.OrderResponseDto;
+import book.store.dto.order.ShippingAdressRequestDto;
+import book.store.mapper.impl.OrderItemMapperImpl;
+import book.store.mapper.impl.OrderMapperImpl;
+import book.store.model.Book;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import book.store.repository.BookRepository;
+import book.store.repository.CartCheckoutLine;
+import book.store.repository.CartItemRepository;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.KeysetSpecificationProvider;
+import book.store.repository.OrderItemRepository;
+import book.store.repository.OrderRepository;
+import book.store.repository.ShoppingCartRepository;
+import book.store.service.InventoryService;
+import book.store.service.OrderService;
+import book.store.service.impl.OrderServiceImpl;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+    private static final String EMAIL = "user@example.com";
+    @Param({"10", "1000"})
+    private int cartSize;
+    private OrderService orderService;
+    private ShippingAdressRequestDto requestDto;
+
+    @Setup
+    public void setUp() {
+        User user = new User().setId(1L).setEmail(EMAIL);
+        ShoppingCart shoppingCart = new ShoppingCart().setId(1L).setUser(user);
+        List<CartCheckoutLine> lines = new ArrayList<>();
+        for (long id = 1; id <= cartSize; id++) {
+            lines.add(new CartCheckoutLine(id, (int) (id % 5) + 1,
+                    BigDecimal.valueOf(id * 199, 2)));
+        }
+        CartItemWriteRepository cartItemWriteRepository = new CartItemWriteRepository(null) {
+            @Override
+            public List<CartCheckoutLine> findCheckoutLines(Long cartId) {
+                return lines;
+            }
+        };
+        orderService = new OrderServiceImpl(
+                stub(OrderRepository.class, Map.of("save", args -> args[0])),
+                stub(OrderItemRepository.class, Map.of("saveAll", args -> args[0])),
+                stub(ShoppingCartRepository.class,
+                        Map.of("findShoppingCartByUserEmail", args -> shoppingCart)),
+                stub(CartItemRepository.class, Map.of()), cartItemWriteRepository,
+                stub(BookRepository.class,
+                        Map.of("getReferenceById", args -> new Book().setId((Long) args[0]))),
+                new OrderMapperImpl(new OrderItemMapperImpl()), new OrderItemMapperImpl(),
+                stub(InventoryService.class, Map.of()), new KeysetSpecificationProvider<>(),
+                new CartStore(null, null, null, null, false, 1, 1));
+        requestDto = new ShippingAdressRequestDto();
+        requestDto.setShippingAddress("Kyiv, Khreshchatyk 1");
+    }
+
+    @Benchmark
+    public OrderResponseDto createOrder() {
+        return orderService.createOrder(EMAIL, requestDto);
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    return returnType.isPrimitive() && returnType != void.class
+                            ? Array.get(Array.newInstance(returnType, 1), 0)
+                            : null;
+                }));
+    }
+}
@@ -0,0 +1,64 @@
+package book.store.benchmark;
+
+import book.store.dto.cart.ShoppingCartResponseDto;
+import book.store.mapper.ShoppingCartMapper;
+import book.store.mapper.impl.CartItemMapperImpl;
+import book.store.mapper.impl.ShoppingCartMapperImpl;
+import book.store.model.Book;
+import book.store.model.CartItem;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoppingCartMapperBenchmark {
+    @Param({"10", "1000"})
+    private int cartSize;
+    private final ShoppingCartMapper shoppingCartMapper =
+            new ShoppingCartMapperImpl(new CartItemMapperImpl());
+    private ShoppingCart shoppingCart;
+
+    @Setup
+    public void setUp() {
+        shoppingCart = new ShoppingCart()
+                .setId(1L)
+                .setUser(new User().setId(1L));
+        Set<CartItem> cartItems = new HashSet<>();
+        for (long id = 1; id <= cartSize; id++) {
+            Book book = new Book()
+                    .setId(id)
+                    .setTitle("Book " + id)
+                    .setPrice(BigDecimal.valueOf(id, 2));
+            cartItems.add(new CartItem()
+                    .setId(id)
+                    .setShoppingCart(shoppingCart)
+                    .setBook(book)
+                    .setQuantity((int) (id % 5) + 1));
+        }
+        shoppingCart.setCartItems(cartItems);
+    }
+
+    @Benchmark
+    public ShoppingCartResponseDto toDto() {
+        return shoppingCartMapper.toDto(shoppingCart);
+    }
+}
@@ -0,0 +1,48 @@
+package book.store.benchmark;
+
+import book.store.validation.EmailValidator;
+import book.store.validation.PasswordValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+    @Param({"valid", "invalid"})
+    private String input;
+    private final EmailValidator emailValidator = new EmailValidator();
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+    private String email;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+        email = valid ? "john.doe@example.com" : "john.doe@example";
+        password = valid ? "Passw0rd!" : "password";
+    }
+
+    @Benchmark
+    public boolean email() {
+        return emailValidator.isValid(email, null);
+    }
+
+    @Benchmark
+    public boolean password() {
+        return passwordValidator.isValid(password, null);
+    }
+}
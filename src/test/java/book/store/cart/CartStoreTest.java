@@ -0,0 +1,235 @@
+package book.store.cart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.cart.CartDeltaDto;
+import book.store.dto.cart.CartItemResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.model.Book;
+import book.store.model.CartItem;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.ShoppingCartRepository;
+import book.store.service.BookService;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class CartStoreTest {
+    private static final String EMAIL = "user@gmail.com";
+    private static final String OTHER_EMAIL = "other@gmail.com";
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private CartItemWriteRepository cartItemWriteRepository;
+    @Mock
+    private BookService bookService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private CartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        cartStore = new CartStore(shoppingCartRepository, cartItemWriteRepository, bookService,
+                transactionManager, true, 1, 1);
+        when(shoppingCartRepository.findWithCartItemsByUserEmail(EMAIL))
+                .thenReturn(getShoppingCart(1L, new CartItem().setId(10L).setQuantity(2)
+                        .setBook(new Book().setId(5L).setTitle("Kobzar")
+                                .setPrice(BigDecimal.valueOf(12.5)))));
+    }
+
+    @Test
+    @DisplayName("Mutations are served from memory and written as one coalesced batch")
+    void addAndUpdate_LoadedCart_WritesCoalescedQuantities() {
+        cartStore.add(EMAIL, 5L, 1, null);
+        cartStore.add(EMAIL, 5L, 3, null);
+        cartStore.update(EMAIL, 10L, 7, null);
+
+        assertEquals(7, getItem(10L).getQuantity());
+        verify(cartItemWriteRepository, never()).updateQuantities(anyMap());
+
+        cartStore.flushAll();
+        cartStore.flushAll();
+
+        verify(cartItemWriteRepository, times(1)).updateQuantities(Map.of(10L, 7));
+        verify(cartItemWriteRepository, times(1)).updateVersions(Map.of(1L, 3L));
+        verify(shoppingCartRepository, times(1)).findWithCartItemsByUserEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("New book is inserted at once and a removed book added again is restored")
+    void addAndRemove_Books_InsertsOnlyNewLines() {
+        when(bookService.getById(6L))
+                .thenReturn(new BookResponseDto().setTitle("Eneida").setPrice(8.0));
+        when(cartItemWriteRepository.upsert(1L, 6L, 1)).thenReturn(11L);
+
+        cartStore.add(EMAIL, 6L, 1, null);
+        cartStore.remove(EMAIL, 10L, null);
+        cartStore.add(EMAIL, 5L, 4, null);
+        cartStore.flush(EMAIL);
+
+        assertEquals("Eneida", getItem(11L).getBookTitle());
+        assertEquals(4, getItem(10L).getQuantity());
+        verify(cartItemWriteRepository, times(1)).upsert(any(Long.class), any(), any(int.class));
+        verify(cartItemWriteRepository).updateQuantities(Map.of(10L, 4));
+        verify(cartItemWriteRepository).deleteAll(List.of());
+        assertThrows(EntityNotFoundException.class,
+                () -> cartStore.update(EMAIL, 99L, 1, null));
+    }
+
+    @Test
+    @DisplayName("Failed batch keeps the changes dirty and evicted dirty carts are not reloaded")
+    void flushAll_FailedWrite_RetriesNextTime() {
+        when(shoppingCartRepository.findWithCartItemsByUserEmail(OTHER_EMAIL))
+                .thenReturn(getShoppingCart(2L));
+        doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .doNothing()
+                .when(cartItemWriteRepository).updateQuantities(anyMap());
+
+        cartStore.update(EMAIL, 10L, 3, null);
+        cartStore.get(OTHER_EMAIL);
+        assertThrows(DataAccessResourceFailureException.class, () -> cartStore.flushAll());
+        assertEquals(3, getItem(10L).getQuantity());
+        cartStore.flushAll();
+
+        verify(cartItemWriteRepository, times(2)).updateQuantities(Map.of(10L, 3));
+        verify(shoppingCartRepository, times(1)).findWithCartItemsByUserEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Flush commits on its own and the cart stays dirty until the commit")
+    void flush_EvictedDuringWrite_ServesCartFromMemory() {
+        when(shoppingCartRepository.findWithCartItemsByUserEmail(OTHER_EMAIL))
+                .thenReturn(getShoppingCart(2L));
+        doAnswer(invocation -> {
+            cartStore.get(OTHER_EMAIL);
+            assertEquals(3, getItem(10L).getQuantity());
+            return null;
+        }).when(cartItemWriteRepository).updateQuantities(anyMap());
+
+        cartStore.update(EMAIL, 10L, 3, null);
+        cartStore.flush(EMAIL);
+        cartStore.flush(EMAIL);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior()
+                        == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(cartItemWriteRepository, times(1)).updateQuantities(Map.of(10L, 3));
+        verify(shoppingCartRepository, times(1)).findWithCartItemsByUserEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Batch changes lines in memory and inserts all new books in one batch")
+    void applyBatch_MixedChanges_InsertsNewBooksTogether() {
+        when(cartItemWriteRepository.findIdsByBookIds(1L, Set.of(6L, 7L)))
+                .thenReturn(Map.of(6L, 11L, 7L, 12L));
+
+        CartDeltaDto actual = cartStore.applyBatch(EMAIL, Map.of(5L, 1, 6L, 2, 7L, 3),
+                Map.of(10L, 4), List.of(), Map.of(6L, getBook(6L, "Eneida", "8.00"),
+                        7L, getBook(7L, "Zapovit", "3.10")), 0L);
+
+        assertEquals(5, getItem(10L).getQuantity());
+        assertEquals(Set.of(10L, 11L, 12L), actual.getCartItems().stream()
+                .map(CartItemResponseDto::getId)
+                .collect(Collectors.toSet()));
+        assertEquals(new BigDecimal("87.80"), actual.getTotal());
+        assertEquals("Zapovit", getItem(12L).getBookTitle());
+        verify(cartItemWriteRepository).upsertAll(1L, Map.of(6L, 2, 7L, 3));
+        assertThrows(EntityNotFoundException.class, () -> cartStore.applyBatch(EMAIL,
+                Map.of(), Map.of(), List.of(99L), Map.of(), null));
+    }
+
+    @Test
+    @DisplayName("Book added again while its delete is being flushed is inserted after the flush")
+    void add_BookDeletedDuringFlush_InsertsAfterDelete() throws Exception {
+        when(bookService.getById(5L))
+                .thenReturn(new BookResponseDto().setTitle("Kobzar").setPrice(12.5));
+        when(cartItemWriteRepository.upsert(1L, 5L, 4)).thenReturn(13L);
+        AtomicReference<CompletableFuture<CartDeltaDto>> readd = new AtomicReference<>();
+        doAnswer(invocation -> {
+            readd.set(CompletableFuture.supplyAsync(() -> cartStore.add(EMAIL, 5L, 4, null)));
+            Thread.sleep(200);
+            assertFalse(readd.get().isDone());
+            verify(cartItemWriteRepository, never()).upsert(any(Long.class), any(),
+                    any(int.class));
+            return null;
+        }).when(cartItemWriteRepository).deleteAll(List.of(10L));
+
+        cartStore.remove(EMAIL, 10L, null);
+        cartStore.flush(EMAIL);
+        readd.get().get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, getItem(13L).getQuantity());
+        assertEquals(1, cartStore.get(EMAIL).getCartItems().size());
+        verify(cartItemWriteRepository).upsert(1L, 5L, 4);
+    }
+
+    @Test
+    @DisplayName("Current version gets only the changed line and a stale one the whole cart")
+    void update_KnownVersion_ReturnsDeltaOnlyWhenCurrent() {
+        CartDeltaDto delta = cartStore.update(EMAIL, 10L, 4, 0L);
+
+        assertEquals(1L, delta.getVersion());
+        assertEquals(List.of(10L), delta.getCartItems().stream()
+                .map(CartItemResponseDto::getId)
+                .toList());
+        assertEquals(4, delta.getTotalQuantity());
+        assertEquals(new BigDecimal("50.0"), delta.getTotal());
+        assertNull(delta.getCart());
+
+        CartDeltaDto stale = cartStore.remove(EMAIL, 10L, 0L);
+
+        assertEquals(2L, stale.getVersion());
+        assertEquals(List.of(), stale.getCartItems());
+        assertEquals(0, stale.getCart().getCartItems().size());
+        assertEquals(BigDecimal.ZERO, stale.getTotal());
+    }
+
+    private CartItemResponseDto getItem(Long id) {
+        return cartStore.get(EMAIL).getCartItems().stream()
+                .filter(item -> item.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Book getBook(Long id, String title, String price) {
+        return new Book().setId(id).setTitle(title).setPrice(new BigDecimal(price));
+    }
+
+    private ShoppingCart getShoppingCart(Long id, CartItem... cartItems) {
+        return new ShoppingCart()
+                .setId(id)
+                .setUser(new User().setId(id))
+                .setCartItems(new HashSet<>(Set.of(cartItems)));
+    }
+}
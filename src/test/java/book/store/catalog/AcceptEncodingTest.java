@@ -0,0 +1,30 @@
+package book.store.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AcceptEncodingTest {
+    private static final String GZIP = "gzip";
+
+    @Test
+    @DisplayName("Coding listed without a weight or with a positive weight is accepted")
+    void accepts_PositiveQuality_ReturnsTrue() {
+        assertTrue(AcceptEncoding.accepts("gzip", GZIP));
+        assertTrue(AcceptEncoding.accepts("br;q=1.0, GZIP;q=0.5", GZIP));
+        assertTrue(AcceptEncoding.accepts("deflate, *;q=0.1", GZIP));
+    }
+
+    @Test
+    @DisplayName("Coding with zero weight, missing or excluded by the wildcard is refused")
+    void accepts_ZeroOrMissingQuality_ReturnsFalse() {
+        assertFalse(AcceptEncoding.accepts(null, GZIP));
+        assertFalse(AcceptEncoding.accepts("gzip;q=0", GZIP));
+        assertFalse(AcceptEncoding.accepts("gzip; q=0.000, identity", GZIP));
+        assertFalse(AcceptEncoding.accepts("x-gzip-like, br", GZIP));
+        assertFalse(AcceptEncoding.accepts("*;q=0", GZIP));
+        assertFalse(AcceptEncoding.accepts("gzip;q=0, *", GZIP));
+    }
+}
@@ -0,0 +1,68 @@
+package book.store.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import book.store.dto.book.BookRequestDto;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvBookRowReaderTest {
+    private static final String HEADER =
+            "title,author,isbn,price,description,coverImage,categoryIds\n";
+
+    @Test
+    @DisplayName("Quoted fields may contain commas, quotes and line breaks")
+    void next_QuotedFields_ReturnsBooks() throws IOException {
+        CsvBookRowReader reader = reader(HEADER
+                + "\"Kobzar, poems\",Taras Shevchenko,978-966-03-4410-5,12.50,"
+                + "\"First line\nsays \"\"hi\"\"\",,1;2\n"
+                + "Ring of Fire,Eric Flint,978-0-671-31972-4,9,,,\n");
+
+        BookRow first = reader.next();
+        BookRow second = reader.next();
+
+        assertEquals(2, first.line());
+        assertEquals(new BookRequestDto()
+                .setTitle("Kobzar, poems")
+                .setAuthor("Taras Shevchenko")
+                .setIsbn("978-966-03-4410-5")
+                .setPrice(12.5)
+                .setDescription("First line\nsays \"hi\"")
+                .setCategoryIds(Set.of(1L, 2L)), first.book());
+        assertEquals(4, second.line());
+        assertEquals(Set.of(), second.book().getCategoryIds());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Malformed rows are reported with their line and do not stop reading")
+    void next_MalformedRows_ReturnsErrors() throws IOException {
+        CsvBookRowReader reader = reader(HEADER
+                + "Title,Author,978-0-261-10221-7,ten,,,\n"
+                + "Title,Author\n"
+                + "\n"
+                + "Title,Author,978-0-261-10221-7,10,,,3\n");
+
+        assertEquals(BookRow.invalid(2, "price and categoryIds must be numbers"), reader.next());
+        assertEquals(BookRow.invalid(3, "Expected 7 columns but found 2"), reader.next());
+        assertEquals(5, reader.next().line());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Header without the required columns is rejected")
+    void next_MissingColumns_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reader("title,author\nTitle,Author\n").next());
+    }
+
+    private CsvBookRowReader reader(String csv) {
+        return new CsvBookRowReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,39 @@
+package book.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class CacheConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(AutoConfigurations.of(CacheAutoConfiguration.class))
+            .withUserConfiguration(CacheConfig.class);
+
+    @Test
+    @DisplayName("Application properties build a bounded Caffeine books cache and principals")
+    void cacheManager_ApplicationProperties_ResolvesBothCaches() {
+        contextRunner.run(context -> {
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+
+            assertInstanceOf(CaffeineCacheManager.class, cacheManager);
+            assertNotNull(cacheManager.getCache(CacheConfig.PRINCIPALS_CACHE));
+            Cache<Object, Object> books = ((CaffeineCache) cacheManager
+                    .getCache(CacheConfig.BOOKS_CACHE)).getNativeCache();
+            assertTrue(books.policy().eviction().isPresent());
+            assertTrue(books.policy().expireAfterWrite().isPresent());
+            assertTrue(books.policy().isRecordingStats());
+        });
+    }
+}
@@ -11,9 +11,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import book.store.dto.book.BookRequestDto;
 import book.store.dto.book.BookResponseDto;
+import book.store.search.BookSearchIndex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import java.io.UnsupportedEncodingException;
 import java.sql.Connection;
 import java.util.Arrays;
@@ -22,6 +24,8 @@ import java.util.Set;
 import java.util.stream.Stream;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -45,6 +49,10 @@ public class BookControllerIntegrationTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
     
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
@@ -115,6 +123,32 @@ public class BookControllerIntegrationTest {
         assertEquals("Third Book", actual[2].getTitle());
     }
     
+    @Test
+    @WithMockUser
+    @DisplayName("Find a page of books with category ids in two SQL statements")
+    @Sql(scripts = "classpath:database/"
+                           + "add-books-and-categories-where-poem-category-has-two-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void findAll_BooksWithCategories_ExecutesTwoStatementsPerPage() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        
+        MvcResult result = mockMvc.perform(
+                        get("/books")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                   .andExpect(status().isOk())
+                                   .andReturn();
+        
+        BookResponseDto[] actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookResponseDto[].class);
+        
+        assertEquals(3, actual.length);
+        assertEquals(Set.of(1L), actual[0].getCategoryIds());
+        assertEquals(Set.of(1L, 2L), actual[2].getCategoryIds());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
     @Test
     @WithMockUser
     @DisplayName("Get book by existed id")
@@ -141,6 +175,7 @@ public class BookControllerIntegrationTest {
     @Sql(scripts = "classpath:database/add-3-books-in-table.sql",
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     public void searchBooks_ValidBookParameters_ReturnsOneBookDto() throws Exception {
+        bookSearchIndex.rebuild();
         MvcResult result = mockMvc.perform(
                         get("/books/search?title=Third Book&author=Third Author")
                                 .contentType(MediaType.APPLICATION_JSON))
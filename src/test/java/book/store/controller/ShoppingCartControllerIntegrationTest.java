@@ -174,10 +174,14 @@ public class ShoppingCartControllerIntegrationTest {
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     public void deleteCartItem_ValidCartItemId_ReturnsShoppingCartDtoWithoutCartItem()
             throws Exception {
-        MvcResult result = mockMvc.perform(
+        mockMvc.perform(
                         delete("/cart/cart-items/1")
                                 .contentType(MediaType.APPLICATION_JSON))
-                                   .andExpect(status().isNoContent())
+                                   .andExpect(status().isNoContent());
+        MvcResult result = mockMvc.perform(
+                        get("/cart")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                   .andExpect(status().isOk())
                                    .andReturn();
         
         ShoppingCartResponseDto actual = objectMapper.readValue(
@@ -0,0 +1,59 @@
+package book.store.dto.page;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import book.store.repository.VersionView;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ResourceVersionDtoTest {
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 12, 30);
+
+    @Test
+    @DisplayName("Single resource is tagged by its id and version and modified at updatedAt")
+    void of_Resource_ReturnsStrongEtagAndLastModified() {
+        ResourceVersionDto actual = ResourceVersionDto.of(getVersion(7L, 3L));
+
+        assertEquals("\"7-3\"", actual.etag());
+        assertEquals(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                actual.lastModified());
+    }
+
+    @Test
+    @DisplayName("Page tag changes when any row on the page is bumped or the rows change")
+    void of_Page_ChangesWithVersionsOfRows() {
+        ResourceVersionDto page = ResourceVersionDto.of(
+                List.of(getVersion(1L, 0L), getVersion(2L, 0L)));
+
+        assertEquals(page, ResourceVersionDto.of(
+                List.of(getVersion(1L, 0L), getVersion(2L, 0L))));
+        assertNotEquals(page.etag(), ResourceVersionDto.of(
+                List.of(getVersion(1L, 0L), getVersion(2L, 1L))).etag());
+        assertNotEquals(page.etag(), ResourceVersionDto.of(
+                List.of(getVersion(1L, 0L), getVersion(3L, 0L))).etag());
+        assertEquals(-1, page.lastModified());
+    }
+
+    private VersionView getVersion(Long id, long version) {
+        return new VersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return UPDATED_AT;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package book.store.event;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.config.CacheConfig;
+import book.store.model.Book;
+import book.store.model.CacheInvalidation;
+import book.store.model.CacheRegionVersion;
+import book.store.repository.CacheInvalidationRepository;
+import book.store.repository.CacheRegionVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CacheRegionSynchronizerTest {
+    @Mock
+    private CacheRegionVersionRepository cacheRegionVersionRepository;
+    @Mock
+    private CacheInvalidationRepository cacheInvalidationRepository;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache cache;
+    private CacheRegionSynchronizer synchronizer;
+
+    @BeforeEach
+    void setUp() {
+        synchronizer = new CacheRegionSynchronizer(cacheRegionVersionRepository,
+                cacheInvalidationRepository, entityManagerFactory, 60);
+    }
+
+    @Test
+    @DisplayName("Region is evicted only when its version changed since the previous poll")
+    void synchronize_ChangedVersion_EvictsRegion() {
+        when(cacheRegionVersionRepository.findAll())
+                .thenReturn(List.of(getVersion(CacheConfig.CATEGORIES_REGION, 1L),
+                        getVersion(CacheConfig.ROLES_REGION, 4L)))
+                .thenReturn(List.of(getVersion(CacheConfig.CATEGORIES_REGION, 2L),
+                        getVersion(CacheConfig.ROLES_REGION, 4L)));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+
+        verify(cache, times(1)).evictRegion(CacheConfig.CATEGORIES_REGION);
+        verify(cache, never()).evictRegion(CacheConfig.ROLES_REGION);
+        verify(cache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @DisplayName("Changed book evicts only its own categories collection on other nodes")
+    void synchronize_NewInvalidations_EvictsSingleEntries() {
+        when(cacheInvalidationRepository.findMaxId()).thenReturn(7L);
+        when(cacheInvalidationRepository.findAllByIdGreaterThanOrderByIdAsc(7L))
+                .thenReturn(List.of(new CacheInvalidation().setId(8L).setEntityId(3L)
+                        .setRegion(CacheConfig.BOOK_CATEGORIES_REGION)));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+        synchronizer.synchronize();
+
+        verify(cache, times(1)).evictCollectionData(Book.class.getName() + ".categories", 3L);
+        verify(cacheInvalidationRepository).findAllByIdGreaterThanOrderByIdAsc(8L);
+        verify(cache, never()).evictRegion(any());
+        verify(cache, never()).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @DisplayName("Changed category bumps the category and book categories regions")
+    void onCategoryChanged_Category_IncrementsVersions() {
+        synchronizer.onCategoryChanged(new CategoryChangedEvent(1L));
+
+        verify(cacheRegionVersionRepository).increment(CacheConfig.CATEGORIES_REGION);
+        verify(cacheRegionVersionRepository).increment(CacheConfig.BOOK_CATEGORIES_REGION);
+    }
+
+    private CacheRegionVersion getVersion(String region, Long version) {
+        CacheRegionVersion cacheRegionVersion = new CacheRegionVersion();
+        cacheRegionVersion.setRegion(region);
+        cacheRegionVersion.setVersion(version);
+        return cacheRegionVersion;
+    }
+}
@@ -0,0 +1,197 @@
+package book.store.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.exception.CustomGlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+    private static final String EMAIL = "user@example.com";
+    private static final String KEY = "3f7c2b1e";
+    private static final String PATH = "/orders";
+    private static final String REQUEST_BODY = "{\"shippingAddress\":\"Kyiv\"}";
+    @Mock
+    private IdempotencyStore idempotencyStore;
+    private IdempotencyFilter idempotencyFilter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, new ObjectMapper(),
+                new String[] {PATH}, 16);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null,
+                        AuthorityUtils.createAuthorityList("ROLE_USER")));
+        request = new MockHttpServletRequest("POST", PATH);
+        request.setServletPath(PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContent(REQUEST_BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("First response is stored with its Location header and replayed with it")
+    void doFilter_CreatedResponse_StoresAndReplaysHeaders() throws Exception {
+        IdempotencyStore.Lease lease = new IdempotencyStore.Lease("scope", null, null, null);
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString())).thenReturn(lease);
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new StatusServlet(201, "{\"id\":1}")));
+
+        ArgumentCaptor<IdempotentResponse> stored =
+                ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyStore).complete(eq(lease), stored.capture());
+        assertEquals(Map.of(HttpHeaders.LOCATION, "/orders/1"), stored.getValue().headers());
+
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString())).thenReturn(
+                new IdempotencyStore.Lease(null, null, null, stored.getValue()));
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, replay, new MockFilterChain());
+
+        assertEquals(201, replay.getStatus());
+        assertEquals("/orders/1", replay.getHeader(HttpHeaders.LOCATION));
+        assertEquals("{\"id\":1}", replay.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Response body above the size limit is stored without it and not replayed")
+    void doFilter_OversizedBody_StoresStatusWithoutBody() throws Exception {
+        IdempotencyStore.Lease lease = new IdempotencyStore.Lease("scope", null, null, null);
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString()))
+                .thenReturn(lease);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request, response,
+                new MockFilterChain(new StatusServlet(201, "{\"title\":\"Kobzar: poems\"}")));
+
+        ArgumentCaptor<IdempotentResponse> stored =
+                ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyStore).complete(eq(lease), stored.capture());
+        assertEquals(201, stored.getValue().status());
+        assertFalse(stored.getValue().bodyRetained());
+        assertNull(stored.getValue().body());
+        assertEquals("{\"title\":\"Kobzar: poems\"}", response.getContentAsString());
+
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString())).thenReturn(
+                new IdempotencyStore.Lease(null, null, null, stored.getValue()));
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        idempotencyFilter.doFilter(request, replay, chain);
+
+        assertEquals(409, replay.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Error response from an unrecognised exception releases the key")
+    void doFilter_UnrecognisedClientError_ReleasesKey() throws Exception {
+        IdempotencyStore.Lease lease = new IdempotencyStore.Lease("scope", null, null, null);
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString()))
+                .thenReturn(lease);
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new StatusServlet(400, "{}")));
+
+        verify(idempotencyStore).complete(lease, null);
+    }
+
+    @Test
+    @DisplayName("Error response from a recognised client error is stored for replay")
+    void doFilter_RecognisedClientError_StoresResponse() throws Exception {
+        IdempotencyStore.Lease lease = new IdempotencyStore.Lease("scope", null, null, null);
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString()))
+                .thenReturn(lease);
+        request.setAttribute(CustomGlobalExceptionHandler.CLIENT_ERROR_ATTRIBUTE, true);
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new StatusServlet(409, "{}")));
+
+        ArgumentCaptor<IdempotentResponse> stored =
+                ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyStore).complete(eq(lease), stored.capture());
+        assertEquals(409, stored.getValue().status());
+    }
+
+    @Test
+    @DisplayName("Request body is hashed for the store and still readable downstream")
+    void doFilter_RequestBody_HashedAndPassedOn() throws Exception {
+        IdempotencyStore.Lease lease = new IdempotencyStore.Lease("scope", null, null, null);
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), hash.capture()))
+                .thenReturn(lease);
+        StatusServlet servlet = new StatusServlet(201, "{}");
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+
+        assertEquals(REQUEST_BODY, servlet.requestBody);
+        assertEquals(44, hash.getValue().length());
+    }
+
+    @Test
+    @DisplayName("Key reused with another request is rejected with 422")
+    void doFilter_KeyReused_ReturnsUnprocessableEntity() throws Exception {
+        when(idempotencyStore.acquire(eq(EMAIL), eq(KEY), eq(PATH), anyString()))
+                .thenThrow(new IdempotencyKeyReusedException("reused"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        idempotencyFilter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(422, response.getStatus());
+    }
+
+    private static class StatusServlet extends HttpServlet {
+        private final int status;
+        private final String body;
+        private String requestBody;
+
+        private StatusServlet(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+            requestBody = StreamUtils.copyToString(request.getInputStream(),
+                    StandardCharsets.UTF_8);
+            response.setStatus(status);
+            response.setHeader(HttpHeaders.LOCATION, "/orders/1");
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package book.store.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.model.IdempotencyRecord;
+import book.store.repository.IdempotencyRecordRepository;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+    private static final String EMAIL = "user@example.com";
+    private static final String KEY = "3f7c2b1e";
+    private static final String PATH = "/orders";
+    private static final String HASH = "n4bQgYhMfWWaL+qgxVrQFaO/TxsrC4Is0V1sFbDwCgg=";
+    private static final IdempotentResponse CREATED = new IdempotentResponse(PATH, HASH, 200,
+            "application/json", Map.of("Location", "/orders/1"), "{\"id\":1}", true);
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, 24, 100, 5000);
+        when(idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(EMAIL, KEY))
+                .thenReturn(Optional.empty());
+        lenient().when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Retried request replays the stored response from the front cache")
+    void acquire_CompletedKey_ReplaysResponse() {
+        IdempotencyStore.Lease lease = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+        assertNull(lease.replay());
+        idempotencyStore.complete(lease, CREATED);
+
+        IdempotencyStore.Lease retry = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+
+        assertEquals(CREATED, retry.replay());
+        verify(idempotencyRecordRepository, times(1))
+                .findByUserEmailAndIdempotencyKey(EMAIL, KEY);
+    }
+
+    @Test
+    @DisplayName("Concurrent request with the same key waits for the first one")
+    void acquire_KeyInFlight_WaitsForFirstResponse() throws Exception {
+        IdempotencyStore.Lease lease = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+
+        CompletableFuture<IdempotencyStore.Lease> retry = CompletableFuture.supplyAsync(
+                () -> idempotencyStore.acquire(EMAIL, KEY, PATH, HASH));
+        Thread.sleep(100);
+        idempotencyStore.complete(lease, CREATED);
+
+        assertEquals(CREATED, retry.get(5, TimeUnit.SECONDS).replay());
+    }
+
+    @Test
+    @DisplayName("Request without a replayable result releases its key so that a retry runs again")
+    void complete_NoResponse_ReleasesKey() {
+        IdempotencyStore.Lease lease = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+        idempotencyStore.complete(lease, null);
+
+        IdempotencyStore.Lease retry = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+
+        assertNull(retry.replay());
+        assertNotNull(retry.record());
+        verify(idempotencyRecordRepository).delete(lease.record());
+    }
+
+    @Test
+    @DisplayName("Key reused for another endpoint is rejected")
+    void acquire_KeyUsedForAnotherPath_ThrowsException() {
+        IdempotencyStore.Lease lease = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+        idempotencyStore.complete(lease, CREATED);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.acquire(EMAIL, KEY, "/cart", HASH));
+    }
+
+    @Test
+    @DisplayName("Key reused with another request body is rejected")
+    void acquire_KeyUsedForAnotherBody_ThrowsException() {
+        IdempotencyStore.Lease lease = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+        idempotencyStore.complete(lease, CREATED);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.acquire(EMAIL, KEY, PATH, "another-hash"));
+    }
+
+    @Test
+    @DisplayName("Stored record keeps the body-not-retained marker for replay")
+    void acquire_StoredResponseWithoutBody_ReplaysMarker() {
+        when(idempotencyRecordRepository.findByUserEmailAndIdempotencyKey(EMAIL, KEY))
+                .thenReturn(Optional.of(new IdempotencyRecord()
+                        .setRequestPath(PATH)
+                        .setRequestHash(HASH)
+                        .setStatusCode(201)
+                        .setBodyRetained(false)
+                        .setExpiresAt(LocalDateTime.now().plusHours(1))));
+
+        IdempotencyStore.Lease retry = idempotencyStore.acquire(EMAIL, KEY, PATH, HASH);
+
+        assertEquals(201, retry.replay().status());
+        assertFalse(retry.replay().bodyRetained());
+        assertNull(retry.replay().body());
+    }
+}
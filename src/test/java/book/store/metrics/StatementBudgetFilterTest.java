@@ -0,0 +1,63 @@
+package book.store.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class StatementBudgetFilterTest {
+    private MeterRegistry registry;
+    private StatementBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new StatementBudgetFilter(registry, 2);
+    }
+
+    @Test
+    @DisplayName("Statements of each request are counted and requests over budget are flagged")
+    void doFilter_StatementsExecuted_RecordsCountPerRequest() throws Exception {
+        request(1);
+        request(3);
+
+        assertEquals(1, summary("false").count());
+        assertEquals(1.0, summary("false").totalAmount());
+        assertEquals(1, summary("true").count());
+        assertEquals(3.0, summary("true").totalAmount());
+    }
+
+    @Test
+    @DisplayName("Filter runs before Spring Security so the principal lookup is counted")
+    void order_BeforeSecurityFilterChain() {
+        assertTrue(OrderUtils.getOrder(StatementBudgetFilter.class)
+                < SecurityProperties.DEFAULT_FILTER_ORDER);
+    }
+
+    private void request(int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/1");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/books/{id}");
+            for (int i = 0; i < statements; i++) {
+                StatementCounter.increment();
+            }
+        });
+    }
+
+    private DistributionSummary summary(String overBudget) {
+        return registry.get(StatementBudgetFilter.METRIC_NAME)
+                .tag("uri", "/books/{id}")
+                .tag("over_budget", overBudget)
+                .summary();
+    }
+}
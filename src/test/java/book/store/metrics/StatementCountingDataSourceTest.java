@@ -0,0 +1,69 @@
+package book.store.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class StatementCountingDataSourceTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StatementCounter.reset();
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    @DisplayName("Statements executed through JdbcTemplate are counted at the JDBC level")
+    void execute_JdbcTemplateStatements_CountsEachExecution() throws Exception {
+        when(connection.prepareStatement("UPDATE books SET version = version + 1 WHERE id = ?"))
+                .thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SELECT 1")).thenReturn(resultSet);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new StatementCountingDataSource(dataSource));
+
+        jdbcTemplate.update("UPDATE books SET version = version + 1 WHERE id = ?", 1L);
+        jdbcTemplate.query("SELECT 1", rs -> {
+        });
+
+        assertEquals(2, StatementCounter.count());
+        verify(preparedStatement).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Preparing a statement or reading its results is not counted")
+    void prepareStatement_NotExecuted_IsNotCounted() throws Exception {
+        when(connection.prepareStatement("SELECT 1")).thenReturn(preparedStatement);
+        when(preparedStatement.getResultSet()).thenReturn(resultSet);
+
+        Connection counting = new StatementCountingDataSource(dataSource).getConnection();
+        PreparedStatement prepared = counting.prepareStatement("SELECT 1");
+
+        assertSame(resultSet, prepared.getResultSet());
+        assertEquals(0, StatementCounter.count());
+    }
+}
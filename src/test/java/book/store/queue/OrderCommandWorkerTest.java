@@ -0,0 +1,100 @@
+package book.store.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.dto.order.OrderResponseDto;
+import book.store.model.OrderCommand;
+import book.store.repository.OrderCommandRepository;
+import book.store.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCommandWorkerTest {
+    private static final String FIRST_EMAIL = "first@example.com";
+    private static final String SECOND_EMAIL = "second@example.com";
+    @Mock
+    private OrderCommandRepository orderCommandRepository;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private OrderQueue orderQueue;
+    private OrderCommandWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        orderQueue = new OrderQueue(new SimpleMeterRegistry(), 100);
+        worker = new OrderCommandWorker(orderCommandRepository, orderService, orderQueue,
+                transactionManager);
+        ReflectionTestUtils.setField(worker, "batchSize", 50);
+    }
+
+    @Test
+    @DisplayName("Batch places all queued orders in one transaction")
+    void processBatch_AllOrdersPlaced_CompletesCommands() {
+        OrderCommand first = getCommand(1L, FIRST_EMAIL);
+        OrderCommand second = getCommand(2L, SECOND_EMAIL);
+        when(orderCommandRepository.lockQueued(50)).thenReturn(List.of(first, second));
+        when(orderService.createOrder(eq(FIRST_EMAIL), any())).thenReturn(getOrder(10L));
+        when(orderService.createOrder(eq(SECOND_EMAIL), any())).thenReturn(getOrder(11L));
+        when(orderCommandRepository.countByStatus(OrderCommand.Status.QUEUED)).thenReturn(0L);
+
+        assertEquals(2, worker.processBatch());
+
+        assertEquals(OrderCommand.Status.COMPLETED, first.getStatus());
+        assertEquals(11L, second.getOrderId());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Failed batch is retried command by command and only the failing one fails")
+    void processBatch_OneOrderFails_FailsOnlyThatCommand() {
+        OrderCommand first = getCommand(1L, FIRST_EMAIL);
+        OrderCommand second = getCommand(2L, SECOND_EMAIL);
+        when(orderCommandRepository.lockQueued(50)).thenReturn(List.of(first, second));
+        when(orderCommandRepository.lockQueuedById(1L)).thenReturn(Optional.of(first));
+        when(orderCommandRepository.lockQueuedById(2L)).thenReturn(Optional.of(second));
+        when(orderService.createOrder(eq(FIRST_EMAIL), any())).thenReturn(getOrder(10L));
+        when(orderService.createOrder(eq(SECOND_EMAIL), any()))
+                .thenThrow(new RuntimeException("Your shopping cart is empty!"));
+        when(orderCommandRepository.countByStatus(OrderCommand.Status.QUEUED)).thenReturn(0L);
+
+        assertEquals(2, worker.processBatch());
+
+        assertEquals(OrderCommand.Status.COMPLETED, first.getStatus());
+        assertEquals(10L, first.getOrderId());
+        assertEquals(OrderCommand.Status.FAILED, second.getStatus());
+        assertEquals("Your shopping cart is empty!", second.getError());
+    }
+
+    private OrderCommand getCommand(Long id, String email) {
+        return new OrderCommand()
+                .setId(id)
+                .setUserEmail(email)
+                .setShippingAddress("Kyiv, Khreshchatyk 1")
+                .setStatus(OrderCommand.Status.QUEUED)
+                .setCreatedAt(LocalDateTime.now());
+    }
+
+    private OrderResponseDto getOrder(Long id) {
+        OrderResponseDto orderResponseDto = new OrderResponseDto();
+        orderResponseDto.setId(id);
+        return orderResponseDto;
+    }
+}
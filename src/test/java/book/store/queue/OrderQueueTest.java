@@ -0,0 +1,52 @@
+package book.store.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import book.store.exception.OrderQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderQueueTest {
+    private MeterRegistry meterRegistry;
+    private OrderQueue orderQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderQueue = new OrderQueue(meterRegistry, 2);
+    }
+
+    @Test
+    @DisplayName("Full queue rejects new commands and counts the rejection")
+    void offer_FullQueue_ThrowsException() {
+        orderQueue.offer();
+        orderQueue.offer();
+
+        assertThrows(OrderQueueFullException.class, orderQueue::offer);
+        assertEquals(2, orderQueue.depth());
+        assertEquals(2.0, meterRegistry.get("orders.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("orders.queue.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Drained queue accepts commands again and records their latency")
+    void refresh_DrainedQueue_AcceptsCommands() {
+        orderQueue.offer();
+        orderQueue.offer();
+        LocalDateTime createdAt = LocalDateTime.now();
+        orderQueue.recordProcessed(createdAt, createdAt.plusSeconds(3));
+        orderQueue.refresh(0);
+
+        orderQueue.offer();
+
+        assertEquals(1, orderQueue.depth());
+        assertEquals(3.0, meterRegistry.get("orders.queue.latency").timer()
+                .totalTime(TimeUnit.SECONDS));
+    }
+}
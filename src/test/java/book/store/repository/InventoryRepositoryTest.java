@@ -0,0 +1,60 @@
+package book.store.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import book.store.model.Inventory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryRepositoryTest {
+    private static final int CHECKOUTS = 2000;
+    private static final int STOCK = 500;
+    private static final int THREADS = 64;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Concurrent checkouts of one bestseller never oversell it")
+    @Sql(scripts = "classpath:database/add-3-books-in-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/remove-inventory-and-books-from-tables.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void decrementIfAvailable_ConcurrentCheckouts_SellsExactlyStock() throws Exception {
+        inventoryRepository.save(new Inventory().setBookId(1L).setQuantity(STOCK));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Integer>> checkouts = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            checkouts.add(() -> transactionTemplate.execute(
+                    status -> inventoryRepository.decrementIfAvailable(1L, 1)));
+        }
+        int sold = 0;
+        for (Future<Integer> future : executor.invokeAll(checkouts)) {
+            sold += future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK, sold);
+        assertEquals(0, inventoryRepository.findById(1L).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,62 @@
+package book.store.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.dto.book.BookResponseDto;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class KeysetCursorTest {
+    private static final Set<String> PROPERTIES = Set.of("id", "title", "price");
+
+    @Test
+    @DisplayName("Cursor built from the last row survives an encode and decode round trip")
+    void encodeAndDecode_LastRow_ReturnsSameCursor() {
+        BookResponseDto book = new BookResponseDto().setId(42L).setTitle("Kobzar: poems");
+
+        KeysetCursor cursor = KeysetCursor.of(book, Sort.Order.desc("title"));
+        KeysetCursor actual = KeysetCursor.decode(cursor.encode(), PROPERTIES);
+
+        assertEquals(new KeysetCursor("title", Sort.Direction.DESC, 42L, "Kobzar: poems"),
+                actual);
+        assertEquals(Sort.by(Sort.Order.desc("title"), Sort.Order.desc("id")), actual.sort());
+    }
+
+    @Test
+    @DisplayName("Cursor with a property that is not allowed for keyset pagination is rejected")
+    void decode_NotAllowedProperty_ThrowsException() {
+        String cursor = new KeysetCursor("description", Sort.Direction.ASC, 1L, "text").encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode(cursor, PROPERTIES));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode("not a cursor", PROPERTIES));
+    }
+
+    @Test
+    @DisplayName("Unsorted page is ordered by id and unsupported sorting is rejected")
+    void orderOf_Pageable_ReturnsSingleOrder() {
+        assertEquals(Sort.Order.asc("id"),
+                KeysetCursor.orderOf(PageRequest.of(0, 20), PROPERTIES));
+        assertEquals(Sort.Order.desc("price"), KeysetCursor.orderOf(
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("price"))), PROPERTIES));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.orderOf(
+                PageRequest.of(0, 20, Sort.by("title", "price")), PROPERTIES));
+    }
+
+    @Test
+    @DisplayName("Only an unsorted page or a single allowed property supports keyset pagination")
+    void supports_Pageable_ReturnsWhetherKeysetApplies() {
+        assertTrue(KeysetCursor.supports(PageRequest.of(0, 20), PROPERTIES));
+        assertTrue(KeysetCursor.supports(PageRequest.of(0, 20, Sort.by("title")), PROPERTIES));
+        assertFalse(KeysetCursor.supports(PageRequest.of(0, 20, Sort.by("isbn")), PROPERTIES));
+        assertFalse(KeysetCursor.supports(
+                PageRequest.of(0, 20, Sort.by("title", "price")), PROPERTIES));
+    }
+}
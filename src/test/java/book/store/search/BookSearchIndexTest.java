@@ -0,0 +1,170 @@
+package book.store.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.dto.book.BookFacetsDto;
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.mapper.BookMapper;
+import book.store.repository.BookRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookMapper bookMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(bookRepository, bookMapper, transactionManager);
+        index.index(getBook(1L, "The Hobbit", "J.R.R. Tolkien", "978-0-261-10221-7",
+                "A hobbit goes on an unexpected journey"));
+        index.index(getBook(2L, "The Lord of the Rings", "J.R.R. Tolkien", "978-0-261-10320-7",
+                "The one ring must be destroyed"));
+        index.index(getBook(3L, "Ring of Fire", "Eric Flint", "978-0-671-31972-4",
+                "A town is thrown back in time"));
+    }
+
+    @Test
+    @DisplayName("Author search is case-insensitive and matches a single name token")
+    void search_AuthorSurname_ReturnsAllBooksOfAuthor() {
+        List<BookResponseDto> actual = search(null, null, List.of("tolkien"), null);
+
+        assertEquals(List.of(1L, 2L), ids(actual));
+    }
+
+    @Test
+    @DisplayName("Free text query matches prefixes and ranks title hits first")
+    void search_PrefixQuery_ReturnsRankedBooks() {
+        List<BookResponseDto> actual = search("ring", null, null, null);
+
+        assertEquals(Set.of(2L, 3L), Set.copyOf(ids(actual)));
+        assertEquals(3L, actual.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Quoted phrase matches only consecutive tokens")
+    void search_Phrase_ReturnsOnlyExactSequence() {
+        List<BookResponseDto> actual = search("\"lord of the rings\"", null, null, null);
+        List<BookResponseDto> reversed = search("\"rings of the lord\"", null, null, null);
+
+        assertEquals(List.of(2L), ids(actual));
+        assertTrue(reversed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Isbn is matched regardless of hyphens")
+    void search_IsbnWithoutHyphens_ReturnsBook() {
+        List<BookResponseDto> actual = search(null, null, null, List.of("9780261102217"));
+
+        assertEquals(List.of(1L), ids(actual));
+    }
+
+    @Test
+    @DisplayName("Different parameters are combined and values of one parameter are alternatives")
+    void search_SeveralParameters_ReturnsIntersection() {
+        List<BookResponseDto> actual = search(null, List.of("hobbit", "fire"),
+                List.of("tolkien"), null);
+
+        assertEquals(List.of(1L), ids(actual));
+    }
+
+    @Test
+    @DisplayName("Updated and removed books are reflected in search results")
+    void indexAndRemove_ChangedBooks_AreSearchable() {
+        index.index(getBook(3L, "Ring of Ice", "Eric Flint", "978-0-671-31972-4", null));
+        index.remove(1L);
+
+        assertTrue(search("fire", null, null, null).isEmpty());
+        assertEquals(List.of(3L), ids(search("ice", null, null, null)));
+        assertTrue(search("hobbit", null, null, null).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Search without parameters pages over all books by id")
+    void search_NoParameters_ReturnsPageOfBooks() {
+        List<BookResponseDto> actual = index.search(
+                new BookSearchParametersDto(null, null, null, null).getParams(),
+                PageRequest.of(1, 2));
+
+        assertEquals(List.of(3L), ids(actual));
+    }
+
+    @Test
+    @DisplayName("Facets of a search count only the matched books")
+    void search_WithFacets_CountsMatchedBooks() {
+        index.index(getBook(2L, "The Lord of the Rings", "J.R.R. Tolkien", "978-0-261-10320-7",
+                null).setPrice(30.0).setCategoryIds(Set.of(1L, 2L)));
+
+        BookFacetsDto actual = index.search(new BookSearchParametersDto(null, null,
+                List.of("tolkien"), null).getParams(), PageRequest.of(0, 1), true).facets();
+
+        assertEquals(Map.of(1L, 1, 2L, 1), actual.categories());
+        assertEquals(Map.of("J.R.R. Tolkien", 2), actual.authors());
+        assertEquals(Map.of("10-25", 1, "25-50", 1), actual.prices());
+    }
+
+    @Test
+    @DisplayName("Facets of the whole catalog follow updated and removed books")
+    void search_NoParametersWithFacets_ReturnsCatalogCounts() {
+        index.index(getBook(3L, "Ring of Fire", "Eric Flint", "978-0-671-31972-4", null)
+                .setPrice(120.0).setCategoryIds(Set.of(3L)));
+        index.remove(1L);
+
+        BookFacetsDto actual = index.search(new BookSearchParametersDto(null, null, null, null)
+                .getParams(), Pageable.unpaged(), true).facets();
+
+        assertEquals(Map.of(3L, 1), actual.categories());
+        assertEquals(List.of("Eric Flint", "J.R.R. Tolkien"),
+                List.copyOf(actual.authors().keySet()));
+        assertEquals(Map.of("10-25", 1, "100+", 1), actual.prices());
+    }
+
+    @Test
+    @DisplayName("Unknown search parameter is rejected")
+    void search_UnknownParameter_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.search(Map.of("price", List.of("10")), Pageable.unpaged()));
+    }
+
+    private List<BookResponseDto> search(String query, List<String> title, List<String> author,
+                                         List<String> isbn) {
+        return index.search(new BookSearchParametersDto(query, title, author, isbn).getParams(),
+                Pageable.unpaged());
+    }
+
+    private List<Long> ids(List<BookResponseDto> books) {
+        return books.stream().map(BookResponseDto::getId).toList();
+    }
+
+    private BookResponseDto getBook(Long id, String title, String author, String isbn,
+                                    String description) {
+        return new BookResponseDto()
+                .setId(id)
+                .setTitle(title)
+                .setAuthor(author)
+                .setIsbn(isbn)
+                .setDescription(description)
+                .setPrice(10.0)
+                .setCategoryIds(Set.of());
+    }
+}
@@ -0,0 +1,73 @@
+package book.store.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.dto.book.BookResponseDto;
+import book.store.dto.book.BookSuggestionDto;
+import book.store.repository.BookRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestionIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private BookSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSuggestionIndex(bookRepository, transactionManager);
+        index.index(getBook(1L, "The Hobbit", "J.R.R. Tolkien"));
+        index.index(getBook(2L, "The Lord of the Rings", "J.R.R. Tolkien"));
+        index.index(getBook(3L, "Ring of Fire", "Eric Flint"));
+    }
+
+    @Test
+    @DisplayName("Prefix of any word suggests titles and authors, most popular first")
+    void suggest_WordPrefix_ReturnsWeightedSuggestions() {
+        List<BookSuggestionDto> actual = index.suggest("tol", 10);
+
+        assertEquals(List.of(new BookSuggestionDto("J.R.R. Tolkien",
+                BookSuggestionDto.Type.AUTHOR, 2)), actual);
+        assertEquals(List.of("Ring of Fire", "The Lord of the Rings"),
+                texts(index.suggest("Rin", 10)));
+    }
+
+    @Test
+    @DisplayName("Several words match consecutive words regardless of case and diacritics")
+    void suggest_SeveralWords_ReturnsMatchingPhrase() {
+        assertEquals(List.of("The Lord of the Rings"), texts(index.suggest("LÓRD of t", 10)));
+        assertTrue(index.suggest("rings of", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Updated and removed books change suggestions and their weights")
+    void indexAndRemove_ChangedBooks_UpdateSuggestions() {
+        index.index(getBook(3L, "Ring of Ice", "Eric Flint"));
+        index.remove(1L);
+
+        assertEquals(List.of("Ring of Ice", "The Lord of the Rings"),
+                texts(index.suggest("ring", 10)));
+        assertTrue(index.suggest("hobbit", 10).isEmpty());
+        assertEquals(1, index.suggest("tolkien", 10).get(0).weight());
+        assertEquals(1, index.suggest("ring", 1).size());
+    }
+
+    private List<String> texts(List<BookSuggestionDto> suggestions) {
+        return suggestions.stream().map(BookSuggestionDto::text).toList();
+    }
+
+    private BookResponseDto getBook(Long id, String title, String author) {
+        return new BookResponseDto().setId(id).setTitle(title).setAuthor(author);
+    }
+}
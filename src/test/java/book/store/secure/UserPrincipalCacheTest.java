@@ -0,0 +1,82 @@
+package book.store.secure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.config.CacheConfig;
+import book.store.model.Role;
+import book.store.model.User;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserPrincipalCacheTest {
+    private static final String EMAIL = "user@example.com";
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Test
+    @DisplayName("Warm principal is served from the cache without loading the user again")
+    void load_WarmUser_LoadsUserOnce() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(getUser());
+
+        userPrincipalCache.load(EMAIL);
+        UserDetails actual = userPrincipalCache.load(EMAIL);
+
+        assertEquals(EMAIL, actual.getUsername());
+        assertEquals("", actual.getPassword());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"),
+                actual.getAuthorities().stream().toList());
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Evicted principal is reloaded with the current roles and deleted flag")
+    void evict_CachedUser_ReloadsUser() {
+        User user = getUser();
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+        userPrincipalCache.load(EMAIL);
+        user.setDeleted(true);
+
+        userPrincipalCache.evict(EMAIL);
+
+        assertFalse(userPrincipalCache.load(EMAIL).isEnabled());
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    private User getUser() {
+        Role role = new Role(Role.RoleName.USER);
+        return new User()
+                .setEmail(EMAIL)
+                .setPassword("password")
+                .setRoles(Set.of(role));
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, UserPrincipalCache.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PRINCIPALS_CACHE);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package book.store.secure;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import book.store.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalEvictionListenerTest {
+    private static final String EMAIL = "user@example.com";
+    @Mock
+    private ObjectProvider<UserPrincipalCache> userPrincipalCacheProvider;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    private UserPrincipalEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new UserPrincipalEvictionListener(userPrincipalCacheProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Updated user inside a transaction is evicted only after commit")
+    void evict_InTransaction_EvictsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.evict(new User().setEmail(EMAIL));
+
+        verifyNoInteractions(userPrincipalCacheProvider);
+        when(userPrincipalCacheProvider.getObject()).thenReturn(userPrincipalCache);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        verify(userPrincipalCache).evict(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Updated user outside a transaction is evicted immediately")
+    void evict_WithoutTransaction_EvictsImmediately() {
+        when(userPrincipalCacheProvider.getObject()).thenReturn(userPrincipalCache);
+
+        listener.evict(new User().setEmail(EMAIL));
+
+        verify(userPrincipalCache).evict(EMAIL);
+    }
+}
@@ -0,0 +1,85 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import book.store.catalog.CatalogFormat;
+import book.store.catalog.CsvBookRowReader;
+import book.store.dto.book.BookRequestDto;
+import book.store.mapper.impl.BookMapperImpl;
+import book.store.model.Book;
+import book.store.repository.BookExportRepository;
+import book.store.service.impl.BookExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceImplTest {
+    @Mock
+    private BookExportRepository bookExportRepository;
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportServiceImpl(bookExportRepository,
+                new BookMapperImpl(), new ObjectMapper());
+        doAnswer(invocation -> {
+            BiConsumer<Book, Set<Long>> consumer = invocation.getArgument(0);
+            consumer.accept(new Book().setId(1L).setTitle("Kobzar, poems")
+                    .setAuthor("Taras Shevchenko").setIsbn("978-966-03-4410-5")
+                    .setPrice(new BigDecimal("12.50")).setDescription("Says \"hi\""),
+                    Set.of(2L, 1L));
+            consumer.accept(new Book().setId(2L).setTitle("Ring of Fire")
+                    .setAuthor("Eric Flint").setIsbn("978-0-671-31972-4")
+                    .setPrice(BigDecimal.TEN), Set.of());
+            return null;
+        }).when(bookExportRepository).streamAll(any());
+    }
+
+    @Test
+    @DisplayName("Exported CSV can be imported back")
+    void exportBooks_Csv_ReadableByImport() throws IOException {
+        String csv = export(CatalogFormat.CSV);
+        CsvBookRowReader reader = new CsvBookRowReader(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(new BookRequestDto()
+                .setTitle("Kobzar, poems")
+                .setAuthor("Taras Shevchenko")
+                .setIsbn("978-966-03-4410-5")
+                .setPrice(12.5)
+                .setDescription("Says \"hi\"")
+                .setCategoryIds(Set.of(1L, 2L)), reader.next().book());
+        assertEquals("Ring of Fire", reader.next().book().getTitle());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one book per line")
+    void exportBooks_Ndjson_WritesOneBookPerLine() throws IOException {
+        String[] lines = export(CatalogFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(2L, new ObjectMapper().readTree(lines[1]).get("id").asLong());
+    }
+
+    private String export(CatalogFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bookExportService.exportBooks(outputStream, format);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
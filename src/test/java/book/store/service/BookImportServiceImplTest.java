@@ -0,0 +1,105 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.catalog.CatalogFormat;
+import book.store.config.CacheConfig;
+import book.store.dto.book.BookImportErrorDto;
+import book.store.dto.book.BookImportResultDto;
+import book.store.dto.book.BookRequestDto;
+import book.store.event.CacheRegionChangedEvent;
+import book.store.mapper.impl.BookMapperImpl;
+import book.store.repository.BookImportRepository;
+import book.store.repository.CategoryRepository;
+import book.store.search.BookSearchIndex;
+import book.store.search.BookSuggestionIndex;
+import book.store.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceImplTest {
+    @Mock
+    private BookImportRepository bookImportRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookImportService = new BookImportServiceImpl(bookImportRepository, categoryRepository,
+                new BookMapperImpl(), bookSearchIndex, bookSuggestionIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                new ConcurrentMapCacheManager(CacheConfig.BOOKS_CACHE), eventPublisher,
+                mock(PlatformTransactionManager.class), 2, 10);
+    }
+
+    @Test
+    @DisplayName("Valid rows are upserted in chunks and invalid rows are reported by line")
+    void importBooks_MixedRows_ImportsValidRowsInChunks() throws IOException {
+        when(categoryRepository.findAllIdsByIdIn(any())).thenReturn(Set.of(1L));
+        when(bookImportRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            Map<String, Long> ids = new HashMap<>();
+            for (BookRequestDto book : invocation.<Collection<BookRequestDto>>getArgument(0)) {
+                ids.put(book.getIsbn(), (long) ids.size() + 1);
+            }
+            return ids;
+        });
+        String ndjson = book("978-0-261-10221-7", "[1]") + "\n"
+                + "{\"title\":\"No author\"}\n"
+                + book("978-0-261-10320-7", "[1]") + "\n"
+                + book("978-0-671-31972-4", "[7]") + "\n"
+                + "\n"
+                + book("978-0-000-00000-0", "[]") + "\n";
+
+        BookImportResultDto actual = bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                CatalogFormat.NDJSON);
+
+        assertEquals(5, actual.getRows());
+        assertEquals(3, actual.getImported());
+        assertEquals(2, actual.getFailed());
+        assertEquals(List.of(2L, 4L), actual.getErrors().stream()
+                .map(BookImportErrorDto::getLine)
+                .toList());
+        assertEquals("Unknown category ids: [7]", actual.getErrors().get(1).getMessage());
+        verify(bookImportRepository, times(2)).upsertAll(anyList());
+        verify(bookSearchIndex, times(3)).index(any());
+        verify(eventPublisher).publishEvent(
+                new CacheRegionChangedEvent(CacheConfig.BOOK_CATEGORIES_REGION));
+    }
+
+    private String book(String isbn, String categoryIds) {
+        return "{\"title\":\"Title\",\"author\":\"Author\",\"isbn\":\"" + isbn
+                + "\",\"price\":10.5,\"categoryIds\":" + categoryIds + "}";
+    }
+}
@@ -0,0 +1,106 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.config.CacheConfig;
+import book.store.dto.book.BookRequestDto;
+import book.store.dto.book.BookResponseDto;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.repository.BookRepository;
+import book.store.repository.KeysetSpecificationProvider;
+import book.store.search.BookSearchIndex;
+import book.store.search.BookSuggestionIndex;
+import book.store.service.impl.BookServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookServiceCacheTest {
+    private static final int THREADS = 16;
+    @MockBean
+    private BookRepository bookRepository;
+    @MockBean
+    private BookMapper bookMapper;
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private BookSuggestionIndex bookSuggestionIndex;
+    @MockBean
+    private KeysetSpecificationProvider<Book> keysetSpecificationProvider;
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Concurrent cache misses on one id load the book from the database once")
+    void getById_ConcurrentMisses_LoadsBookOnce() throws Exception {
+        Book book = new Book().setId(1L);
+        BookResponseDto responseDto = new BookResponseDto().setId(1L);
+        when(bookRepository.findById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Optional.of(book);
+        });
+        when(bookMapper.toDto(book)).thenReturn(responseDto);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<BookResponseDto>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            calls.add(() -> bookService.getById(1L));
+        }
+        for (Future<BookResponseDto> future : executor.invokeAll(calls)) {
+            assertEquals(responseDto, future.get());
+        }
+        executor.shutdown();
+
+        verify(bookRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Update replaces the cached book and delete evicts it")
+    void updateAndDelete_CachedBook_RefreshesCache() {
+        Book book = new Book().setId(1L);
+        BookResponseDto cached = new BookResponseDto().setId(1L).setTitle("Old");
+        BookResponseDto updated = new BookResponseDto().setId(1L).setTitle("New");
+        when(bookMapper.toDto(book)).thenReturn(cached, updated);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
+
+        bookService.getById(1L);
+        bookService.update(1L, new BookRequestDto());
+        assertEquals("New", bookService.getById(1L).getTitle());
+        verify(bookRepository, times(2)).findById(1L);
+
+        bookService.deleteById(1L);
+        bookService.getById(1L);
+        verify(bookRepository, times(3)).findById(1L);
+    }
+
+    @Configuration
+    @Import({CacheConfig.class, BookServiceImpl.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.BOOKS_CACHE);
+        }
+    }
+}
@@ -2,54 +2,64 @@ package book.store.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import book.store.dto.book.BookRequestDto;
 import book.store.dto.book.BookResponseDto;
 import book.store.dto.book.BookSearchParametersDto;
 import book.store.dto.book.BookWithoutCategoryResponseDto;
+import book.store.dto.page.CursorPageDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
 import book.store.model.Category;
 import book.store.repository.BookRepository;
-import book.store.repository.SpecificationProvider;
+import book.store.repository.KeysetCursor;
+import book.store.search.BookSearchIndex;
+import book.store.search.BookSuggestionIndex;
 import book.store.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.runner.RunWith;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Sort;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
 
-@RunWith(MockitoJUnitRunner.class)
-public class BookServiceImplTest {
+@ExtendWith(MockitoExtension.class)
+class BookServiceImplTest {
     @Mock
     private BookRepository repository;
     @Mock
     private BookMapper mapper;
     @Mock
-    private SpecificationProvider<Book> specificationProvider;
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private BookServiceImpl service;
 
     @Test
     @DisplayName("Checks if the book is in the database after saving")
-    public void saveBook_ReturnsBookDto() {
+    void saveBook_ReturnsBookDto() {
         Book model = getBook();
         BookRequestDto requestDto = getBookRequestDto();
         BookResponseDto responseDto = getBookResponseDto();
@@ -62,18 +72,20 @@ public class BookServiceImplTest {
         assertNotNull(actual);
         assertNotNull(actual.getId());
         assertEquals(responseDto, actual);
+        verify(bookSearchIndex).index(responseDto);
     }
 
     @Test
     @DisplayName("Find all books in database")
-    public void findAll_ReturnsListWithOneBookDto() {
+    void findAll_ReturnsListWithOneBookDto() {
         Book model = getBook();
         BookResponseDto responseDto = getBookResponseDto();
         Pageable pageable = Pageable.unpaged();
-        Page<Book> page = new PageImpl<>(List.of(model));
 
-        when(mapper.toDto(model)).thenReturn(responseDto);
-        when(repository.findAll(Pageable.unpaged())).thenReturn(page);
+        when(repository.findAllBy(Pageable.unpaged())).thenReturn(List.of(model));
+        when(repository.findCategoryIdsByBookIds(Collections.singletonList(model.getId())))
+                .thenReturn(Map.of());
+        when(mapper.toDtos(List.of(model), Map.of())).thenReturn(List.of(responseDto));
         List<BookResponseDto> actual = service.findAll(pageable);
 
         assertNotNull(actual);
@@ -81,14 +93,49 @@ public class BookServiceImplTest {
         assertEquals(responseDto.getTitle(), actual.get(0).getTitle());
     }
 
+    @Test
+    @DisplayName("First page sorted by a property without keyset support uses the offset query")
+    void findAll_FirstPageSortedByIsbn_FallsBackToOffsetQuery() {
+        Book model = getBook().setId(1L);
+        BookResponseDto responseDto = getBookResponseDto();
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("isbn"));
+
+        when(repository.findAllBy(pageable)).thenReturn(List.of(model));
+        when(repository.findCategoryIdsByBookIds(List.of(1L))).thenReturn(Map.of());
+        when(mapper.toDtos(List.of(model), Map.of())).thenReturn(List.of(responseDto));
+        CursorPageDto<BookResponseDto> actual = service.findAll(null, pageable);
+
+        assertEquals(List.of(responseDto), actual.content());
+        assertNull(actual.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deep page is read as a list without a count query")
+    void findAll_SecondPage_ReadsSliceWithoutCount() {
+        Book model = getBook().setId(1L);
+        BookResponseDto responseDto = getBookResponseDto();
+        Pageable pageable = PageRequest.of(1, 1);
+
+        when(repository.findAllBy(pageable)).thenReturn(List.of(model));
+        when(repository.findCategoryIdsByBookIds(List.of(1L))).thenReturn(Map.of());
+        when(mapper.toDtos(List.of(model), Map.of())).thenReturn(List.of(responseDto));
+        CursorPageDto<BookResponseDto> actual = service.findAll(null, pageable);
+
+        assertEquals(List.of(responseDto), actual.content());
+        assertEquals(KeysetCursor.of(responseDto, Sort.Order.asc("id")).encode(),
+                actual.nextCursor());
+        verify(repository, never()).findAll(pageable);
+        verify(repository, never()).count();
+    }
+
     @Test
     @DisplayName("Get book by valid id")
-    public void getBookById_ValidId_ReturnsBookDto() {
+    void getBookById_ValidId_ReturnsBookDto() {
         Book model = getBook();
         BookResponseDto responseDto = getBookResponseDto();
 
         when(mapper.toDto(model)).thenReturn(responseDto);
-        when(repository.getReferenceById(1L)).thenReturn(model);
+        when(repository.findById(1L)).thenReturn(Optional.of(model));
         BookResponseDto actual = service.getById(1L);
 
         assertNotNull(actual);
@@ -97,41 +144,45 @@ public class BookServiceImplTest {
 
     @Test
     @DisplayName("Get exception after searching book by not valid id")
-    public void getBookById_NotValidId_ReturnsException() {
+    void getBookById_NotValidId_ReturnsException() {
         Long id = -10L;
 
-        when(repository.getReferenceById(id)).thenThrow(new RuntimeException("error message"));
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
-        Exception exception = assertThrows(RuntimeException.class, () -> service.getById(id));
-        assertEquals("error message", exception.getMessage());
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> service.getById(id));
+        assertEquals("The book with id " + id + " does not exist", exception.getMessage());
     }
 
     @Test
     @DisplayName("Update book with valid id and dto")
-    public void updateBook_ValidIdAndDto_ReturnsUpdatedBookDto() {
+    void updateBook_ValidIdAndDto_ReturnsUpdatedBookDto() {
         Long existedId = 1L;
-        Book modelFromDb = getBook().setId(existedId);
-        Book newModel = getBook().setTitle("Other Title");
+        Book modelFromDb = getBook().setId(existedId).setVersion(3L);
         BookRequestDto requestDto = getBookRequestDto();
-        BookResponseDto responseDto = getBookResponseDto().setTitle(newModel.getTitle());
+        BookResponseDto responseDto = getBookResponseDto().setVersion(3L);
 
+        when(repository.incrementVersion(existedId)).thenReturn(1);
         when(repository.findById(existedId)).thenReturn(Optional.of(modelFromDb));
-        when(mapper.toModel(requestDto)).thenReturn(newModel);
-        when(repository.save(newModel)).thenReturn(newModel.setId(existedId));
-        when(mapper.toDto(newModel)).thenReturn(responseDto);
+        when(repository.saveAndFlush(modelFromDb)).thenReturn(modelFromDb);
+        when(mapper.toDto(modelFromDb)).thenReturn(responseDto);
         BookResponseDto actual = service.update(existedId, requestDto);
 
-        assertNotNull(actual);
-        assertNotNull(actual.getId());
-        EqualsBuilder.reflectionEquals(responseDto, actual);
+        assertEquals(responseDto, actual);
+        InOrder inOrder = inOrder(repository, mapper);
+        inOrder.verify(repository).incrementVersion(existedId);
+        inOrder.verify(repository).findById(existedId);
+        inOrder.verify(mapper).updateModel(requestDto, modelFromDb);
+        inOrder.verify(repository).saveAndFlush(modelFromDb);
     }
 
     @Test
     @DisplayName("Update book with valid dto and not valid id")
-    public void updateBook_ValidDtoAndNotValidId_ReturnsException() {
+    void updateBook_ValidDtoAndNotValidId_ReturnsException() {
         Long notExistedId = -1L;
         BookRequestDto requestDto = getBookRequestDto();
 
+        when(repository.incrementVersion(notExistedId)).thenReturn(0);
         when(repository.findById(notExistedId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class,
@@ -142,17 +193,15 @@ public class BookServiceImplTest {
 
     @Test
     @DisplayName("Find books by searching parameters")
-    public void searchBooks_ValidParameters_ReturnsListWithOneBookDto() {
+    void searchBooks_ValidParameters_ReturnsListWithOneBookDto() {
         BookSearchParametersDto searchParametersDto = new BookSearchParametersDto(
-                Collections.emptyList(), List.of("Author"));
-        Book model = getBook();
+                null, Collections.emptyList(), List.of("Author"), null);
         BookResponseDto responseDto = getBookResponseDto();
-        Specification<Book> specification = null;
+        Pageable pageable = Pageable.unpaged();
 
-        when(specificationProvider.getSpecification(anyList(), anyString())).thenReturn(any());
-        when(repository.findAll(specification)).thenReturn(List.of(model));
-        when(mapper.toDto(model)).thenReturn(responseDto);
-        List<BookResponseDto> actual = service.searchBooks(searchParametersDto);
+        when(bookSearchIndex.search(searchParametersDto.getParams(), pageable))
+                .thenReturn(List.of(responseDto));
+        List<BookResponseDto> actual = service.searchBooks(searchParametersDto, pageable);
 
         assertNotNull(actual);
         EqualsBuilder.reflectionEquals(responseDto, actual.get(0));
@@ -160,7 +209,7 @@ public class BookServiceImplTest {
 
     @Test
     @DisplayName("Find books by category ids")
-    public void findBooksByCategoryId_ValidCategoryId_ReturnsListWithOneBookDto() {
+    void findBooksByCategoryId_ValidCategoryId_ReturnsListWithOneBookDto() {
         Long existedCategoryId = 2L;
         Book model = getBook();
         BookWithoutCategoryResponseDto responseDto = getBookWithoutCategoryIdsResponseDto();
@@ -176,6 +225,22 @@ public class BookServiceImplTest {
         EqualsBuilder.reflectionEquals(responseDto, actual.get(0));
     }
 
+    @Test
+    @DisplayName("First category page sorted by several properties uses the offset query")
+    void findBooksByCategoryId_MultiPropertySort_FallsBackToOffsetQuery() {
+        Book model = getBook();
+        BookWithoutCategoryResponseDto responseDto = getBookWithoutCategoryIdsResponseDto();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("title", "price"));
+
+        when(repository.findAllBooksByCategoryId(2L, pageable)).thenReturn(List.of(model));
+        when(mapper.toDtoWithoutCategories(model)).thenReturn(responseDto);
+        CursorPageDto<BookWithoutCategoryResponseDto> actual =
+                service.findAllByCategoryId(2L, null, pageable);
+
+        assertEquals(List.of(responseDto), actual.content());
+        assertNull(actual.nextCursor());
+    }
+
     private BookRequestDto getBookRequestDto() {
         return new BookRequestDto()
                 .setAuthor("Author")
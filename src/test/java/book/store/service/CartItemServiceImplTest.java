@@ -2,153 +2,249 @@ package book.store.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import book.store.cart.CartStore;
+import book.store.dto.cart.CartBatchRequestDto;
+import book.store.dto.cart.CartDeltaDto;
+import book.store.dto.cart.CartItemBatchUpdateDto;
 import book.store.dto.cart.CartItemCreateRequestDto;
 import book.store.dto.cart.CartItemResponseDto;
 import book.store.dto.cart.CartItemUpdateRequestDto;
+import book.store.dto.cart.ShoppingCartResponseDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CartItemMapper;
+import book.store.mapper.ShoppingCartMapper;
 import book.store.model.Book;
 import book.store.model.CartItem;
 import book.store.model.ShoppingCart;
-import book.store.model.User;
 import book.store.repository.BookRepository;
+import book.store.repository.CartItemIds;
 import book.store.repository.CartItemRepository;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.CartSummary;
 import book.store.repository.ShoppingCartRepository;
 import book.store.service.impl.CartItemServiceImpl;
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.runner.RunWith;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
 
-@RunWith(MockitoJUnitRunner.class)
-public class CartItemServiceImplTest {
+@ExtendWith(MockitoExtension.class)
+class CartItemServiceImplTest {
     @Mock
     private CartItemRepository cartItemRepository;
     @Mock
-    private ShoppingCartRepository shoppingCartRepository;
+    private CartItemWriteRepository cartItemWriteRepository;
     @Mock
     private BookRepository bookRepository;
     @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
     private CartItemMapper cartItemMapper;
+    @Mock
+    private ShoppingCartMapper shoppingCartMapper;
+    @Mock
+    private CartStore cartStore;
     @InjectMocks
     private CartItemServiceImpl cartItemService;
-    
+
     @Test
-    @DisplayName("Instead of creating, it will update cart item quantity "
-                         + "if book is present in shopping cart")
-    public void createCartItem_BookIsPresentInShoppingCart_UpdateBookQuantity() {
+    @DisplayName("Adding a book to shopping cart is a single upsert that sums quantities")
+    void createCartItem_ValidRequest_UpsertsCartItem() {
         String email = "user123@email.com";
-        CartItem model = getCartItem().setId(1L);
-        ShoppingCart shoppingCart = new ShoppingCart()
-                                            .setId(1L)
-                                            .setUser(new User()
-                                                             .setId(1L)
-                                                             .setEmail(email))
-                                            .setCartItems(Set.of(model));
         CartItemCreateRequestDto requestDto = getCartItemCreateRequestDto();
-        
-        when(shoppingCartRepository.findShoppingCartByUserEmail(email)).thenReturn(shoppingCart);
-        when(cartItemRepository.save(model)).thenReturn(model);
-        cartItemService.create(email, requestDto);
-        
-        verify(shoppingCartRepository, times(1)).findShoppingCartByUserEmail(email);
-        verify(cartItemRepository, times(1)).save(model);
-        assertEquals(6, model.getQuantity());
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.findSummary(email)).thenReturn(Optional.of(
+                new CartSummary(1L, 4L, 1, 3, BigDecimal.valueOf(30))));
+        when(cartItemWriteRepository.findLines(1L, List.of(), List.of(1L)))
+                .thenReturn(List.of(getCartItemResponseDto()));
+        CartDeltaDto actual = cartItemService.create(email, requestDto, 3L);
+
+        verify(cartItemWriteRepository, times(1)).upsert(email, 1L, 3);
+        assertEquals(4L, actual.getVersion());
+        assertEquals(List.of(getCartItemResponseDto()), actual.getCartItems());
+        assertEquals(BigDecimal.valueOf(30), actual.getTotal());
+        assertNull(actual.getCart());
     }
-    
+
     @Test
-    @DisplayName("Create cart item if book is not present in shopping cart")
-    public void createCartItem_BookIsNotPresentInShoppingCart_CreateCartItem() {
+    @DisplayName("Mutation with a stale cart version returns the whole cart")
+    void createCartItem_StaleVersion_ReturnsWholeCart() {
+        String email = "user123@email.com";
+        CartItemCreateRequestDto requestDto = getCartItemCreateRequestDto();
+        ShoppingCart shoppingCart = new ShoppingCart().setId(1L).setVersion(4L)
+                .setCartItems(Set.of(getCartItem()));
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.findSummary(email)).thenReturn(Optional.of(
+                new CartSummary(1L, 4L, 1, 3, BigDecimal.valueOf(30))));
+        when(shoppingCartRepository.findWithCartItemsByUserEmail(email))
+                .thenReturn(shoppingCart);
+        when(shoppingCartMapper.toDto(shoppingCart)).thenReturn(new ShoppingCartResponseDto());
+        CartDeltaDto actual = cartItemService.create(email, requestDto, 2L);
+
+        assertNotNull(actual.getCart());
+        assertEquals(3, actual.getTotalQuantity());
+        assertEquals(BigDecimal.valueOf(30), actual.getTotal());
+        verify(cartItemWriteRepository, never()).findLines(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Get exception after adding a book for user without shopping cart")
+    void createCartItem_NoShoppingCart_ReturnsException() {
         String email = "user123@email.com";
-        CartItem model = getCartItem();
-        ShoppingCart shoppingCart = new ShoppingCart()
-                                            .setId(1L)
-                                            .setUser(new User()
-                                                             .setId(1L)
-                                                             .setEmail(email))
-                                            .setCartItems(new HashSet<>());
         CartItemCreateRequestDto requestDto = getCartItemCreateRequestDto();
-        
-        when(shoppingCartRepository.findShoppingCartByUserEmail(email)).thenReturn(shoppingCart);
-        when(cartItemMapper.toModel(requestDto)).thenReturn(model);
-        when(bookRepository.getReferenceById(model.getBook().getId())).thenReturn(model.getBook());
-        when(cartItemRepository.save(model)).thenReturn(model.setId(1L));
-        cartItemService.create(email, requestDto);
-        
-        verify(shoppingCartRepository, times(2)).findShoppingCartByUserEmail(email);
-        verify(cartItemRepository, times(1)).save(model);
-        assertTrue(shoppingCart.getCartItems().contains(model));
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(0);
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> cartItemService.create(email, requestDto, null));
+        assertEquals("Can`t find shopping cart of user " + email, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Batch resolves books once and writes each kind of change as one statement")
+    void applyBatch_ValidRequest_WritesBatchedChanges() {
+        String email = "user123@email.com";
+        CartBatchRequestDto requestDto = new CartBatchRequestDto()
+                .setAdd(List.of(getCartItemCreateRequestDto(), getCartItemCreateRequestDto()))
+                .setUpdate(List.of(new CartItemBatchUpdateDto().setCartItemId(7L).setQuantity(2)))
+                .setRemove(List.of(8L));
+
+        when(bookRepository.findAllById(Set.of(1L))).thenReturn(List.of(getCartItem().getBook()));
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.findCartItemIds(email))
+                .thenReturn(Optional.of(new CartItemIds(1L, Set.of(7L, 8L))));
+        when(cartItemWriteRepository.findSummary(email)).thenReturn(Optional.of(
+                new CartSummary(1L, 1L, 2, 8, BigDecimal.valueOf(80))));
+        CartDeltaDto actual = cartItemService.applyBatch(email, requestDto, 0L);
+
+        assertEquals(List.of(8L), actual.getRemovedCartItemIds());
+        verify(cartItemWriteRepository, times(1)).updateQuantities(Map.of(7L, 2));
+        verify(cartItemWriteRepository, times(1)).deleteAll(Set.of(8L));
+        verify(cartItemWriteRepository, times(1)).upsertAll(1L, Map.of(1L, 6));
+    }
+
+    @Test
+    @DisplayName("Batch with a cart item of another cart is rejected before any write")
+    void applyBatch_ForeignCartItem_ReturnsException() {
+        String email = "user123@email.com";
+        CartBatchRequestDto requestDto = new CartBatchRequestDto().setRemove(List.of(9L));
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.findCartItemIds(email))
+                .thenReturn(Optional.of(new CartItemIds(1L, Set.of(7L))));
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> cartItemService.applyBatch(email, requestDto, null));
+        assertEquals("Can`t find cart item with id 9", exception.getMessage());
+        verify(cartItemWriteRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    @DisplayName("Deleting a cart item outside the user's cart is rejected")
+    void deleteCartItem_ForeignCartItem_ReturnsException() {
+        String email = "user123@email.com";
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.delete(email, 9L)).thenReturn(0);
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> cartItemService.deleteById(email, 9L, null));
+        assertEquals("Can`t find cart item with id 9", exception.getMessage());
+        verify(shoppingCartRepository, never()).findWithCartItemsByUserEmail(any());
     }
-    
+
+    @Test
+    @DisplayName("Deleting without a cart version does not load the cart for a 204 response")
+    void deleteCartItem_WithoutVersion_SkipsCartLoad() {
+        String email = "user123@email.com";
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.delete(email, 1L)).thenReturn(1);
+        cartItemService.deleteById(email, 1L);
+
+        verify(shoppingCartRepository, never()).findWithCartItemsByUserEmail(any());
+        verify(cartItemWriteRepository, never()).findSummary(any());
+    }
+
     @Test
     @DisplayName("Get cart item by valid id")
-    public void getCartItemById_ValidId_ReturnsCartItemDto() {
+    void getCartItemById_ValidId_ReturnsCartItemDto() {
         CartItem model = getCartItem();
         CartItemResponseDto responseDto = getCartItemResponseDto();
-        
+
         when(cartItemMapper.toDto(model)).thenReturn(responseDto);
         when(cartItemRepository.getReferenceById(1L)).thenReturn(model);
         CartItemResponseDto actual = cartItemService.getById(1L);
-        
+
         assertNotNull(actual);
         EqualsBuilder.reflectionEquals(responseDto, actual);
     }
-    
+
     @Test
     @DisplayName("Get exception after searching cart item by not valid id")
-    public void getCartItemById_NotValidId_ReturnsException() {
+    void getCartItemById_NotValidId_ReturnsException() {
         Long id = -10L;
-        
+
         when(cartItemRepository.getReferenceById(id))
                 .thenThrow(new RuntimeException("error message"));
-        
+
         Exception exception = assertThrows(RuntimeException.class,
                 () -> cartItemService.getById(id));
         assertEquals("error message", exception.getMessage());
     }
-    
+
     @Test
     @DisplayName("Update cart item with valid id and dto")
-    public void updateCartItem_ValidIdAndDto_ReturnsUpdatedCartItemDto() {
+    void updateCartItem_ValidIdAndDto_ReturnsUpdatedCartItemDto() {
+        String email = "user123@email.com";
         Long existedId = 1L;
-        CartItem modelFromDb = getCartItem().setId(existedId);
         CartItemUpdateRequestDto requestDto = getCartItemUpdateRequestDto();
-        
-        when(cartItemRepository.findById(existedId)).thenReturn(Optional.of(modelFromDb));
-        when(cartItemRepository.save(modelFromDb)).thenReturn(modelFromDb);
-        cartItemService.update(existedId, requestDto);
-        
-        verify(cartItemRepository, times(1)).findById(existedId);
-        verify(cartItemRepository, times(1)).save(modelFromDb);
-        assertEquals(requestDto.getQuantity(), modelFromDb.getQuantity());
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.updateQuantity(email, existedId, 5)).thenReturn(1);
+        when(cartItemWriteRepository.findSummary(email)).thenReturn(Optional.of(
+                new CartSummary(1L, 2L, 1, 5, BigDecimal.valueOf(50))));
+        when(cartItemWriteRepository.findLines(1L, List.of(existedId), List.of()))
+                .thenReturn(List.of(getCartItemResponseDto().setQuantity(5)));
+        CartDeltaDto actual = cartItemService.update(email, existedId, requestDto, 1L);
+
+        verify(cartItemWriteRepository, times(1)).updateQuantity(email, existedId, 5);
+        assertEquals(5, actual.getCartItems().get(0).getQuantity());
     }
-    
+
     @Test
     @DisplayName("Update cart item with valid dto and not valid id")
-    public void updateCartItem_ValidDtoAndNotValidId_ReturnsException() {
+    void updateCartItem_ValidDtoAndNotValidId_ReturnsException() {
+        String email = "user123@email.com";
         Long notExistedId = -1L;
         CartItemUpdateRequestDto requestDto = getCartItemUpdateRequestDto();
-        
-        when(cartItemRepository.findById(notExistedId)).thenReturn(Optional.empty());
-        
+
+        when(cartItemWriteRepository.incrementVersion(email)).thenReturn(1);
+        when(cartItemWriteRepository.updateQuantity(email, notExistedId, 5)).thenReturn(0);
+
         Exception exception = assertThrows(EntityNotFoundException.class,
-                () -> cartItemService.update(notExistedId, requestDto));
+                () -> cartItemService.update(email, notExistedId, requestDto, null));
         assertEquals("Can`t find cart item with id " + notExistedId, exception.getMessage());
     }
-    
+
     private CartItem getCartItem() {
         return new CartItem()
                        .setBook(new Book()
@@ -159,7 +255,7 @@ public class CartItemServiceImplTest {
                        .setShoppingCart(new ShoppingCart()
                                                 .setId(1L));
     }
-    
+
     private CartItemResponseDto getCartItemResponseDto() {
         return new CartItemResponseDto()
                        .setId(1L)
@@ -167,13 +263,13 @@ public class CartItemServiceImplTest {
                        .setBookId(1L)
                        .setQuantity(3);
     }
-    
+
     private CartItemCreateRequestDto getCartItemCreateRequestDto() {
         return new CartItemCreateRequestDto()
                        .setBookId(1L)
                        .setQuantity(3);
     }
-    
+
     private CartItemUpdateRequestDto getCartItemUpdateRequestDto() {
         return new CartItemUpdateRequestDto()
                        .setQuantity(5);
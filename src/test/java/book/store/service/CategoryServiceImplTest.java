@@ -3,10 +3,12 @@ package book.store.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 
 import book.store.dto.category.CategoryRequestDto;
 import book.store.dto.category.CategoryResponseDto;
+import book.store.event.CategoryChangedEvent;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
@@ -14,29 +16,33 @@ import book.store.repository.CategoryRepository;
 import book.store.service.impl.CategoryServiceImpl;
 import java.util.List;
 import java.util.Optional;
-import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.runner.RunWith;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
 
-@RunWith(MockitoJUnitRunner.class)
-public class CategoryServiceImplTest {
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceImplTest {
     @Mock
     private CategoryRepository repository;
     @Mock
     private CategoryMapper mapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private CategoryServiceImpl service;
 
     @Test
     @DisplayName("Checks if the category is in the database after saving")
-    public void saveCategory_ReturnsCategoryDto() {
+    void saveCategory_ReturnsCategoryDto() {
         Category model = getCategory();
         CategoryRequestDto requestDto = getCategoryRequestDto();
         CategoryResponseDto responseDto = getCategoryResponseDto();
@@ -54,7 +60,7 @@ public class CategoryServiceImplTest {
 
     @Test
     @DisplayName("Find all categories in database")
-    public void findAll_ReturnsListWithOneCategoryDto() {
+    void findAll_ReturnsListWithOneCategoryDto() {
         Category model = getCategory();
         CategoryResponseDto responseDto = getCategoryResponseDto();
         Pageable pageable = Pageable.unpaged();
@@ -71,12 +77,12 @@ public class CategoryServiceImplTest {
 
     @Test
     @DisplayName("Get category by valid id")
-    public void getCategoryById_ValidId_ReturnsCategoryDto() {
+    void getCategoryById_ValidId_ReturnsCategoryDto() {
         Category model = getCategory();
         CategoryResponseDto responseDto = getCategoryResponseDto();
 
         when(mapper.toDto(model)).thenReturn(responseDto);
-        when(repository.getReferenceById(1L)).thenReturn(model);
+        when(repository.findById(1L)).thenReturn(Optional.of(model));
         CategoryResponseDto actual = service.getById(1L);
 
         assertNotNull(actual);
@@ -85,37 +91,41 @@ public class CategoryServiceImplTest {
 
     @Test
     @DisplayName("Get exception after searching category by not valid id")
-    public void getCategoryById_NotValidId_ReturnsException() {
+    void getCategoryById_NotValidId_ReturnsException() {
         Long id = -10L;
 
-        when(repository.getReferenceById(id)).thenThrow(new RuntimeException("error message"));
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
-        Exception exception = assertThrows(RuntimeException.class, () -> service.getById(id));
-        assertEquals("error message", exception.getMessage());
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> service.getById(id));
+        assertEquals("Can't find category by id: " + id, exception.getMessage());
     }
 
     @Test
     @DisplayName("Update category with valid id and dto")
-    public void updateCategory_ValidIdAndDto_ReturnsUpdatedCategoryDto() {
+    void updateCategory_ValidIdAndDto_ReturnsUpdatedCategoryDto() {
         Long existedId = 1L;
         Category modelFromDb = getCategory().setId(existedId);
-        Category newModel = getCategory().setName("Other Category");
         CategoryRequestDto requestDto = getCategoryRequestDto();
-        CategoryResponseDto responseDto = getCategoryResponseDto().setName(newModel.getName());
+        CategoryResponseDto responseDto = getCategoryResponseDto();
 
+        when(repository.incrementVersion(existedId)).thenReturn(1);
         when(repository.findById(existedId)).thenReturn(Optional.of(modelFromDb));
-        when(mapper.toModel(requestDto)).thenReturn(newModel);
-        when(mapper.toDto(newModel)).thenReturn(responseDto);
+        when(repository.saveAndFlush(modelFromDb)).thenReturn(modelFromDb);
+        when(mapper.toDto(modelFromDb)).thenReturn(responseDto);
         CategoryResponseDto actual = service.update(existedId, requestDto);
 
-        assertNotNull(actual);
-        assertNotNull(actual.getId());
-        EqualsBuilder.reflectionEquals(responseDto, actual);
+        assertEquals(responseDto, actual);
+        InOrder inOrder = inOrder(repository, mapper, eventPublisher);
+        inOrder.verify(repository).incrementVersion(existedId);
+        inOrder.verify(mapper).updateModel(requestDto, modelFromDb);
+        inOrder.verify(repository).saveAndFlush(modelFromDb);
+        inOrder.verify(eventPublisher).publishEvent(new CategoryChangedEvent(existedId));
     }
 
     @Test
     @DisplayName("Update category with valid dto and not valid id")
-    public void updateCategory_ValidDtoAndNotValidId_ReturnsException() {
+    void updateCategory_ValidDtoAndNotValidId_ReturnsException() {
         Long notExistedId = -1L;
         CategoryRequestDto requestDto = getCategoryRequestDto();
 
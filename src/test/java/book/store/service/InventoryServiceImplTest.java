@@ -0,0 +1,75 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.exception.OutOfStockException;
+import book.store.mapper.InventoryMapper;
+import book.store.repository.BookRepository;
+import book.store.repository.InventoryRepository;
+import book.store.service.impl.InventoryServiceImpl;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplTest {
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private InventoryMapper inventoryMapper;
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    @Test
+    @DisplayName("Reservation decrements stock line by line in book id order")
+    void reserve_EnoughStock_DecrementsInBookIdOrder() {
+        when(inventoryRepository.decrementIfAvailable(1L, 2)).thenReturn(1);
+        when(inventoryRepository.decrementIfAvailable(3L, 1)).thenReturn(1);
+
+        inventoryService.reserve(Map.of(3L, 1, 1L, 2));
+
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).decrementIfAvailable(1L, 2);
+        inOrder.verify(inventoryRepository).decrementIfAvailable(3L, 1);
+    }
+
+    @Test
+    @DisplayName("Reservation fails when a tracked book has not enough copies in stock")
+    void reserve_NotEnoughStock_ThrowsException() {
+        when(inventoryRepository.decrementIfAvailable(1L, 2)).thenReturn(1);
+        when(inventoryRepository.decrementIfAvailable(2L, 5)).thenReturn(0);
+        when(inventoryRepository.existsById(2L)).thenReturn(true);
+
+        assertThrows(OutOfStockException.class,
+                () -> inventoryService.reserve(Map.of(1L, 2, 2L, 5, 3L, 1)));
+        verify(inventoryRepository, never()).decrementIfAvailable(3L, 1);
+    }
+
+    @Test
+    @DisplayName("Books without an inventory row are not limited")
+    void reserve_UntrackedBook_Succeeds() {
+        when(inventoryRepository.decrementIfAvailable(1L, 2)).thenReturn(0);
+        when(inventoryRepository.existsById(1L)).thenReturn(false);
+
+        inventoryService.reserve(Map.of(1L, 2));
+    }
+
+    @Test
+    @DisplayName("Release returns reserved copies to stock")
+    void release_ReservedBooks_IncrementsStock() {
+        inventoryService.release(Map.of(1L, 2));
+
+        verify(inventoryRepository).increment(1L, 2);
+    }
+}
@@ -0,0 +1,313 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import book.store.cart.CartStore;
+import book.store.dto.order.OrderResponseDto;
+import book.store.dto.order.ShippingAdressRequestDto;
+import book.store.dto.order.UpdatedStatusRequestDto;
+import book.store.dto.page.CursorPageDto;
+import book.store.exception.OrderTotalExceededException;
+import book.store.exception.OutOfStockException;
+import book.store.mapper.impl.OrderItemMapperImpl;
+import book.store.mapper.impl.OrderMapperImpl;
+import book.store.model.Book;
+import book.store.model.Order;
+import book.store.model.OrderItem;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import book.store.repository.BookRepository;
+import book.store.repository.CartCheckoutLine;
+import book.store.repository.CartItemRepository;
+import book.store.repository.CartItemWriteRepository;
+import book.store.repository.KeysetCursor;
+import book.store.repository.KeysetSpecificationProvider;
+import book.store.repository.OrderItemRepository;
+import book.store.repository.OrderRepository;
+import book.store.repository.OrderSummary;
+import book.store.repository.ShoppingCartRepository;
+import book.store.service.impl.OrderServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+    private static final String EMAIL = "user@gmail.com";
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 5, 1, 12, 30);
+    private static final long RANDOM_SEED = 20240501L;
+    private static final int RANDOM_CARTS = 500;
+    private static final int MAX_LINES = 50;
+    private static final int MAX_QUANTITY = 1000;
+    private static final int MAX_SMALL_CENTS = 100;
+    private static final long MAX_PRICE_CENTS = 199_999L;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private CartItemWriteRepository cartItemWriteRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private CartStore cartStore;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, orderItemRepository,
+                shoppingCartRepository, mock(CartItemRepository.class), cartItemWriteRepository,
+                bookRepository, new OrderMapperImpl(new OrderItemMapperImpl()),
+                new OrderItemMapperImpl(), inventoryService,
+                new KeysetSpecificationProvider<>(), cartStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Cached cart is flushed first and evicted only after the checkout commits")
+    void createOrder_Committed_EvictsCartAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        stubCheckout();
+
+        orderService.createOrder(EMAIL, new ShippingAdressRequestDto());
+
+        verify(cartStore).flush(EMAIL);
+        verify(cartStore, never()).evict(any());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        verify(cartStore).evict(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Checkout rolled back by missing stock keeps the cached cart")
+    void createOrder_OutOfStock_KeepsCachedCart() {
+        TransactionSynchronizationManager.initSynchronization();
+        stubCheckout();
+        doThrow(new OutOfStockException("Not enough books with id 1"))
+                .when(inventoryService).reserve(any());
+
+        assertThrows(OutOfStockException.class,
+                () -> orderService.createOrder(EMAIL, new ShippingAdressRequestDto()));
+
+        assertEquals(List.of(), TransactionSynchronizationManager.getSynchronizations());
+        verify(cartStore, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("Order total of any cart equals the sum of its line amounts to the cent")
+    void createOrder_RandomCarts_TotalMatchesLineSums() {
+        Random random = new Random(RANDOM_SEED);
+        when(shoppingCartRepository.findShoppingCartByUserEmail(EMAIL)).thenReturn(
+                new ShoppingCart().setId(1L).setUser(new User().setId(1L)));
+        when(bookRepository.getReferenceById(any())).thenAnswer(
+                invocation -> new Book().setId(invocation.getArgument(0)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(
+                invocation -> invocation.getArgument(0));
+        when(orderItemRepository.saveAll(any())).thenAnswer(
+                invocation -> invocation.getArgument(0));
+
+        for (int i = 0; i < RANDOM_CARTS; i++) {
+            List<CartCheckoutLine> lines = getRandomLines(random);
+            when(cartItemWriteRepository.findCheckoutLines(1L)).thenReturn(lines);
+
+            OrderResponseDto actual =
+                    orderService.createOrder(EMAIL, new ShippingAdressRequestDto());
+
+            BigDecimal expected = lines.stream()
+                    .map(line -> line.price().multiply(BigDecimal.valueOf(line.quantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .setScale(2);
+            assertEquals(expected, actual.getTotal(), () -> "Lines: " + lines);
+            assertEquals(lines.size(), actual.getOrderItems().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Checkout whose total does not fit the orders.total column is rejected")
+    void createOrder_TotalAboveColumnRange_ThrowsException() {
+        when(shoppingCartRepository.findShoppingCartByUserEmail(EMAIL)).thenReturn(
+                new ShoppingCart().setId(1L).setUser(new User().setId(1L)));
+        when(cartItemWriteRepository.findCheckoutLines(1L)).thenReturn(List.of(
+                new CartCheckoutLine(1L, 1, new BigDecimal("99999999.99")),
+                new CartCheckoutLine(2L, 1, new BigDecimal("0.01"))));
+
+        Exception exception = assertThrows(OrderTotalExceededException.class,
+                () -> orderService.createOrder(EMAIL, new ShippingAdressRequestDto()));
+        assertEquals("The order total can`t exceed 99999999.99", exception.getMessage());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Checkout of an empty cart is rejected")
+    void createOrder_EmptyCart_ThrowsException() {
+        when(shoppingCartRepository.findShoppingCartByUserEmail(EMAIL)).thenReturn(
+                new ShoppingCart().setId(1L));
+        when(cartItemWriteRepository.findCheckoutLines(1L)).thenReturn(List.of());
+
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> orderService.createOrder(EMAIL, new ShippingAdressRequestDto()));
+        assertEquals("Your shopping cart is empty!", exception.getMessage());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Status change reads the order under a row lock and releases stock once")
+    void updateOrderStatus_CancelTwice_ReleasesStockOnce() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(Order.Status.PENDING);
+        OrderItem orderItem = new OrderItem();
+        orderItem.setBook(new Book().setId(3L));
+        orderItem.setQuantity(2);
+        UpdatedStatusRequestDto requestDto = new UpdatedStatusRequestDto();
+        requestDto.setStatus(Order.Status.CANCELED.name());
+        when(orderRepository.findForUpdateById(1L)).thenReturn(Optional.of(order));
+        when(orderItemRepository.findAllByOrderId(1L)).thenReturn(Set.of(orderItem));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        orderService.updateOrderStatus(1L, requestDto);
+        orderService.updateOrderStatus(1L, requestDto);
+
+        verify(inventoryService, times(1)).release(Map.of(3L, 2));
+        verify(orderRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    @DisplayName("Full page of newest orders returns a cursor and loads no items by default")
+    void findAllByUserEmail_FullPage_ReturnsNextCursor() {
+        Sort sort = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+        when(orderRepository.findSummaries(any(), eq(sort), eq(0L), eq(2))).thenReturn(List.of(
+                getSummary(5L, ORDER_DATE.plusDays(1)), getSummary(3L, ORDER_DATE)));
+
+        CursorPageDto<OrderResponseDto> actual =
+                orderService.findAllByUserEmail(EMAIL, null, PageRequest.of(0, 2), false);
+
+        assertEquals(List.of(5L, 3L), actual.content().stream().map(OrderResponseDto::getId)
+                .toList());
+        assertNull(actual.content().get(0).getOrderItems());
+        assertEquals(new KeysetCursor("orderDate", Sort.Direction.DESC, 3L,
+                ORDER_DATE.toString()), KeysetCursor.decode(actual.nextCursor(),
+                Set.of("orderDate")));
+        verify(orderItemRepository, never()).findAllLinesByOrderIds(any());
+    }
+
+    @Test
+    @DisplayName("Items of the whole page are loaded by one query and grouped by order")
+    void findAllByUserEmail_IncludeItems_LoadsItemsInOneQuery() {
+        when(orderRepository.findSummaries(any(), any(), eq(0L), eq(20))).thenReturn(List.of(
+                getSummary(5L, ORDER_DATE.plusDays(1)), getSummary(3L, ORDER_DATE)));
+        when(orderItemRepository.findAllLinesByOrderIds(List.of(5L, 3L))).thenReturn(List.of(
+                getLine(5L, 10L, 1L, 2), getLine(5L, 11L, 2L, 1), getLine(3L, 12L, 1L, 4)));
+
+        CursorPageDto<OrderResponseDto> actual =
+                orderService.findAllByUserEmail(EMAIL, null, PageRequest.of(0, 20), true);
+
+        assertEquals(2, actual.content().get(0).getOrderItems().size());
+        assertEquals(1, actual.content().get(1).getOrderItems().size());
+        assertNull(actual.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Page after a cursor is read from the start of the keyset")
+    void findAllByUserEmail_AfterCursor_IgnoresOffset() {
+        String after = new KeysetCursor("total", Sort.Direction.ASC, 3L, "15.50").encode();
+        Sort sort = Sort.by(Sort.Order.asc("total"), Sort.Order.asc("id"));
+        when(orderRepository.findSummaries(any(), eq(sort), eq(0L), eq(10)))
+                .thenReturn(List.of());
+
+        CursorPageDto<OrderResponseDto> actual =
+                orderService.findAllByUserEmail(EMAIL, after, PageRequest.of(4, 10), false);
+
+        assertEquals(List.of(), actual.content());
+        assertNull(actual.nextCursor());
+    }
+
+    private void stubCheckout() {
+        when(shoppingCartRepository.findShoppingCartByUserEmail(EMAIL)).thenReturn(
+                new ShoppingCart().setId(1L).setUser(new User().setId(1L)));
+        when(cartItemWriteRepository.findCheckoutLines(1L)).thenReturn(List.of(
+                new CartCheckoutLine(1L, 2, new BigDecimal("9.99"))));
+        when(bookRepository.getReferenceById(1L)).thenReturn(new Book().setId(1L));
+        when(orderRepository.save(any(Order.class))).thenAnswer(
+                invocation -> invocation.getArgument(0));
+        when(orderItemRepository.saveAll(any())).thenAnswer(
+                invocation -> invocation.getArgument(0));
+    }
+
+    private List<CartCheckoutLine> getRandomLines(Random random) {
+        List<CartCheckoutLine> lines = new ArrayList<>();
+        int size = random.nextInt(MAX_LINES) + 1;
+        for (long bookId = 1; bookId <= size; bookId++) {
+            long cents = random.nextBoolean() ? random.nextInt(MAX_SMALL_CENTS) + 1
+                    : random.nextLong(MAX_PRICE_CENTS) + 1;
+            lines.add(new CartCheckoutLine(bookId, random.nextInt(MAX_QUANTITY) + 1,
+                    BigDecimal.valueOf(cents, 2)));
+        }
+        return lines;
+    }
+
+    private OrderSummary getSummary(Long id, LocalDateTime orderDate) {
+        return new OrderSummary(id, 1L, orderDate, BigDecimal.TEN, Order.Status.PENDING);
+    }
+
+    private OrderItemRepository.OrderItemLine getLine(Long orderId, Long id, Long bookId,
+                                                      Integer quantity) {
+        return new OrderItemRepository.OrderItemLine() {
+            @Override
+            public Long getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package book.store.service;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 
+import book.store.cart.CartStore;
 import book.store.dto.cart.CartItemResponseDto;
 import book.store.dto.cart.ShoppingCartResponseDto;
 import book.store.mapper.ShoppingCartMapper;
@@ -26,6 +27,8 @@ class ShoppingCartServiceImplTest {
     private ShoppingCartRepository repository;
     @Mock
     private ShoppingCartMapper mapper;
+    @Mock
+    private CartStore cartStore;
     @InjectMocks
     private ShoppingCartServiceImpl service;
     
@@ -36,7 +39,7 @@ class ShoppingCartServiceImplTest {
         ShoppingCart model = getShoppingCart();
         ShoppingCartResponseDto responseDto = getShoppingCartResponseDto();
         
-        when(repository.findShoppingCartByUserEmail(email)).thenReturn(model);
+        when(repository.findWithCartItemsByUserEmail(email)).thenReturn(model);
         when(mapper.toDto(model)).thenReturn(responseDto);
         ShoppingCartResponseDto actual = service.getShoppingCartByUserEmail(email);
         
@@ -0,0 +1,2 @@
+DELETE FROM inventory;
+DELETE FROM books;
\ No newline at end of file